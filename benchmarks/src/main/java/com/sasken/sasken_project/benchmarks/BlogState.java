@@ -0,0 +1,132 @@
+package com.sasken.sasken_project.benchmarks;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sasken.sasken_project.SaskenProjectApplication;
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+// One application context per trial, backed by an in-memory H2 database seeded with `posts` posts
+// (about 90% published) and `commentsPerPost` comments each. Everything else in the app runs as
+// it would in production: caches, the search index, the like counter and the comment writer.
+@State(Scope.Benchmark)
+public class BlogState {
+
+    // Passed as command-line arguments so they win over the application.properties in the app jar
+    private static final String[] ARGS = {
+        "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "--spring.jpa.show-sql=false",
+        "--spring.jpa.open-in-view=false",
+        "--logging.level.root=WARN",
+        "--logging.level.org.hibernate.SQL=WARN",
+        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "--blog.analytics.snapshot-interval-ms=86400000"
+    };
+
+    private static final int SEED_BATCH = 500;
+
+    @Param({"10000"})
+    public int posts;
+
+    @Param({"5"})
+    public int commentsPerPost;
+
+    @Param({"300"})
+    public int contentWords;
+
+    ConfigurableApplicationContext context;
+    PostService postService;
+    long[] ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SaskenProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(ARGS);
+        postService = context.getBean(PostService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    long randomId(SplittableRandom random) {
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private void seed() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Long> created = new ArrayList<>(posts);
+        for (int start = 0; start < posts; start += SEED_BATCH) {
+            int count = Math.min(SEED_BATCH, posts - start);
+            List<Post> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                batch.add(SampleData.post(random, contentWords));
+            }
+            for (BulkItemResult result : postService.createPosts(batch)) {
+                created.add(result.getId());
+            }
+        }
+
+        // Leave every tenth post as a draft
+        List<Long> toPublish = new ArrayList<>();
+        for (int i = 0; i < created.size(); i++) {
+            if (i % 10 != 0) {
+                toPublish.add(created.get(i));
+            }
+            if (toPublish.size() == SEED_BATCH || i == created.size() - 1) {
+                postService.publishPosts(toPublish);
+                toPublish = new ArrayList<>();
+            }
+        }
+
+        // Comments go straight through JDBC; the comment writer is what addComment measures
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+        for (Long id : created) {
+            for (int c = 0; c < commentsPerPost; c++) {
+                rows.add(new Object[] {id, SampleData.AUTHORS[random.nextInt(SampleData.AUTHORS.length)],
+                        SampleData.text(random, 25), now});
+            }
+            if (rows.size() >= SEED_BATCH) {
+                insertComments(jdbc, rows);
+            }
+        }
+        insertComments(jdbc, rows);
+
+        ids = created.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void insertComments(JdbcTemplate jdbc, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO comments (post_id, author, body, created_at) VALUES (?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sasken.sasken_project.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sasken.sasken_project.entity.Post;
+
+// Jackson cost of the list responses on their own, without the database. The mapper is set up the
+// way Spring Boot configures the one used by the controllers (java.time support, ISO dates).
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int size;
+
+    @Param({"300"})
+    public int contentWords;
+
+    private ObjectMapper mapper;
+    private List<Post> posts;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        mapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        posts = SampleData.posts(size, contentWords, 42);
+        try {
+            json = mapper.writeValueAsBytes(posts);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] writePostList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public List<Post> readPostList() throws IOException {
+        return mapper.readValue(json,
+                mapper.getTypeFactory().constructCollectionType(List.class, Post.class));
+    }
+}
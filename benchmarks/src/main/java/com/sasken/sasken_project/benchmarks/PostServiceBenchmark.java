@@ -0,0 +1,109 @@
+package com.sasken.sasken_project.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.dto.CursorPage;
+import com.sasken.sasken_project.dto.LikeCount;
+import com.sasken.sasken_project.dto.PostSummary;
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+
+// PostService calls behind the busiest endpoints, measured in-process against the seeded H2
+// database (no HTTP layer). Ids and search terms are drawn at random per thread so the post cache
+// sees a realistic hit rate rather than a single hot key.
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class PostServiceBenchmark {
+
+    // Posts per invocation of the two create benchmarks; their scores are per post
+    static final int CREATE_BATCH = 100;
+
+    @State(Scope.Thread)
+    public static class Picker {
+        SplittableRandom random;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            random = new SplittableRandom(7);
+        }
+    }
+
+    @Benchmark
+    public Optional<Post> getPostById(BlogState blog, Picker picker) {
+        return blog.postService.getPostById(blog.randomId(picker.random));
+    }
+
+    @Benchmark
+    public List<Post> searchPosts(BlogState blog, Picker picker) {
+        return blog.postService.searchPosts(SampleData.word(picker.random), 0, 20);
+    }
+
+    @Benchmark
+    public LikeCount likePost(BlogState blog, Picker picker) {
+        return blog.postService.likePost(blog.randomId(picker.random));
+    }
+
+    @Benchmark
+    public Comment addComment(BlogState blog, Picker picker) {
+        return blog.postService.addComment(blog.randomId(picker.random), "bench", "Nice post, thanks for sharing.");
+    }
+
+    // First page of the home page listing
+    @Benchmark
+    public CursorPage<PostSummary> publishedSummaries(BlogState blog) {
+        return blog.postService.getPublishedSummaries(null, 20);
+    }
+
+    // Full published listing as GET /api/posts streams it; the consumer stands in for the JSON writer
+    @Benchmark
+    public long allPublishedPosts(BlogState blog, Blackhole blackhole) {
+        return blog.postService.forEachPost(PostStatus.PUBLISHED, blackhole::consume);
+    }
+
+    // The same new drafts through POST /api/posts one at a time and through POST /api/posts/bulk
+    @Benchmark
+    @OperationsPerInvocation(CREATE_BATCH)
+    public void createOneAtATime(BlogState blog, Picker picker, Blackhole blackhole) {
+        for (int i = 0; i < CREATE_BATCH; i++) {
+            blackhole.consume(blog.postService.createPost(SampleData.post(picker.random, blog.contentWords)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CREATE_BATCH)
+    public List<BulkItemResult> createBulk(BlogState blog, Picker picker) {
+        List<Post> batch = new ArrayList<>(CREATE_BATCH);
+        for (int i = 0; i < CREATE_BATCH; i++) {
+            batch.add(SampleData.post(picker.random, blog.contentWords));
+        }
+        return blog.postService.createPosts(batch);
+    }
+
+    @Benchmark
+    public CursorPage<Comment> comments(BlogState blog, Picker picker) {
+        return blog.postService.getComments(blog.randomId(picker.random), null, 20);
+    }
+}
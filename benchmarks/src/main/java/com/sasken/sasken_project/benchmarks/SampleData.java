@@ -0,0 +1,75 @@
+package com.sasken.sasken_project.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+
+// Deterministic blog-like text: a fixed vocabulary picked with a skewed distribution, so a few
+// words are very common (long postings lists) and most are rare, roughly like real posts
+final class SampleData {
+
+    static final String[] VOCABULARY = {
+        "spring", "java", "database", "performance", "cache", "index", "query", "latency", "thread",
+        "memory", "design", "review", "release", "blog", "content", "editor", "draft", "publish",
+        "search", "ranking", "cursor", "stream", "batch", "transaction", "isolation", "replica",
+        "benchmark", "profile", "garbage", "collector", "allocation", "throughput", "virtual",
+        "scheduler", "hibernate", "mysql", "postgres", "kotlin", "gradle", "maven", "docker",
+        "kubernetes", "deployment", "monitoring", "metrics", "tracing", "logging", "security",
+        "session", "token", "compression", "serialization", "jackson", "network", "socket",
+        "protocol", "migration", "schema", "rollback", "upgrade", "testing", "mockito", "junit",
+        "coverage", "refactoring", "architecture", "microservice", "monolith", "queue", "kafka",
+        "partition", "consumer", "producer", "backpressure", "timeout", "retry", "idempotent",
+        "pagination", "keyset", "offset", "histogram", "percentile", "tail", "warmup", "jit",
+        "inlining", "escape", "analysis", "vector", "simd", "loop", "unrolling", "branch",
+        "prediction", "pipeline", "contention", "lock", "atomic", "volatile", "fence", "ordering"
+    };
+
+    static final String[] AUTHORS = {
+        "Asha", "Ravi", "Meera", "Karan", "Priya", "Vikram", "Neha", "Arjun", "Divya", "Rahul"
+    };
+
+    private SampleData() {}
+
+    static String word(SplittableRandom random) {
+        double r = random.nextDouble();
+        return VOCABULARY[(int) (r * r * VOCABULARY.length)];
+    }
+
+    static String text(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder(words * 9);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(i % 14 == 0 ? ". " : " ");
+            }
+            text.append(word(random));
+        }
+        return text.append('.').toString();
+    }
+
+    static Post post(SplittableRandom random, int contentWords) {
+        Post post = new Post(text(random, 6), text(random, contentWords),
+                AUTHORS[random.nextInt(AUTHORS.length)]);
+        post.setStatus(PostStatus.PUBLISHED);
+        return post;
+    }
+
+    // Detached posts with ids and timestamps filled in, for the serialization benchmarks
+    static List<Post> posts(int count, int contentWords, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = post(random, contentWords);
+            post.setId((long) i + 1);
+            post.setCreatedAt(now.minusMinutes(i));
+            post.setUpdatedAt(now.minusMinutes(i));
+            post.setLikes(random.nextInt(500));
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -2,12 +2,20 @@ package com.sasken.sasken_project; // FIXED: Removed backslash
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SaskenProjectApplication {
 
+    // Startup steps kept for the timing report (StartupWarmup) and /actuator/startup
+    private static final int STARTUP_STEPS_CAPACITY = 4096;
+
     public static void main(String[] args) {
-        SpringApplication.run(SaskenProjectApplication.class, args);
+        SpringApplication application = new SpringApplication(SaskenProjectApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        application.run(args);
         System.out.println("Sasken Project Application Started Successfully!");
         System.out.println("Dashboard API: http://localhost:8080/api/dashboard/analytics");
         System.out.println("Posts API: http://localhost:8080/api/posts");
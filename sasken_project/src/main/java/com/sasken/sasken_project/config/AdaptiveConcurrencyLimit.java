@@ -0,0 +1,58 @@
+package com.sasken.sasken_project.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit for one class of requests, moved between min and max by AdmissionControl:
+// cut by a quarter when the database slows down, raised by one per interval while it is healthy
+// (AIMD). Admission is a CAS on the in-flight count; there is no queue, a request over the
+// limit is turned away at once.
+public class AdaptiveConcurrencyLimit {
+
+    private final int min;
+    private final int max;
+    private volatile int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Highest in-flight count since the last drainPeakInFlight()
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimit(int min, int max) {
+        this.min = Math.max(1, min);
+        this.max = Math.max(this.min, max);
+        this.limit = this.max;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                if (current + 1 > peakInFlight.get()) {
+                    peakInFlight.accumulateAndGet(current + 1, Math::max);
+                }
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    // Only called from the single adjusting thread, like decrease() and increase()
+    int drainPeakInFlight() {
+        return peakInFlight.getAndSet(inFlight.get());
+    }
+
+    void decrease() {
+        limit = Math.max(min, limit * 3 / 4);
+    }
+
+    void increase() {
+        limit = Math.min(max, limit + 1);
+    }
+
+    public int getLimit() { return limit; }
+    public int getInFlight() { return inFlight.get(); }
+}
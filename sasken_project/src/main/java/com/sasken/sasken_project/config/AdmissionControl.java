@@ -0,0 +1,209 @@
+package com.sasken.sasken_project.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Decides which API requests get in (AdmissionControlFilter), so one noisy client or a slow
+// database cannot take the connection pool away from everyone else:
+// - writes pay one token from their client's bucket (blog.admission.client-write-rate per second,
+//   bursts of blog.admission.client-write-burst), see ClientRateLimiter;
+// - reads and writes then each need a slot under their own concurrency limit, so a write storm
+//   cannot starve the listings and the other way round;
+// - every blog.admission.adjust-interval-ms a limit is cut when the average statement time
+//   (DatabaseLatency) exceeds both blog.admission.latency-tolerance times its usual level and
+//   the usual level plus blog.admission.min-latency-increase-ms, and that class of requests
+//   came close to its limit in the interval (a cut it does not feel would only ratchet the
+//   limit down). Limits grow back while statements are not slow. Intervals with fewer than
+//   blog.admission.min-executions statements say nothing about the database and are not
+//   judged; the usual level is first taken over WARMUP_INTERVALS busy intervals. Slow
+//   intervals barely move the usual level, so a lasting slowdown keeps the limits down for
+//   minutes instead of becoming the new normal after one cut.
+// Meters: blog.admission.requests{class, outcome}, blog.admission.limit{class},
+// blog.admission.in_flight{class}, blog.admission.clients, blog.db.statement.latency.
+@Component
+@ConditionalOnProperty(name = "blog.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControl {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+
+    // Weight of each interval in the usual-latency average. Healthy intervals let it follow
+    // gradual drift within a minute or so; a slow one counts 25 times less, so a slowdown just
+    // over the tolerance is held back for about 1.5 minutes (1 s intervals) before it is
+    // accepted as normal, and a real regression cannot pin the limits at min for good.
+    private static final double BASELINE_WEIGHT = 0.05;
+    private static final double SLOW_BASELINE_WEIGHT = 0.002;
+
+    private static final int WARMUP_INTERVALS = 10;
+
+    // A cut only binds once the peak in flight is above three quarters of the limit
+    private static final double NEAR_LIMIT = 0.75;
+
+    public enum RequestClass { READ, WRITE }
+
+    public enum Outcome { ADMITTED, RATE_LIMITED, CONCURRENCY_LIMITED }
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private DatabaseLatency databaseLatency;
+
+    @Value("${blog.admission.client-write-rate:5}")
+    private double clientWriteRate;
+
+    @Value("${blog.admission.client-write-burst:20}")
+    private int clientWriteBurst;
+
+    @Value("${blog.admission.max-clients:100000}")
+    private int maxClients;
+
+    @Value("${blog.admission.read-concurrency-min:10}")
+    private int readConcurrencyMin;
+
+    @Value("${blog.admission.read-concurrency-max:100}")
+    private int readConcurrencyMax;
+
+    @Value("${blog.admission.write-concurrency-min:2}")
+    private int writeConcurrencyMin;
+
+    @Value("${blog.admission.write-concurrency-max:20}")
+    private int writeConcurrencyMax;
+
+    @Value("${blog.admission.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${blog.admission.min-latency-increase-ms:2}")
+    private double minLatencyIncreaseMs;
+
+    @Value("${blog.admission.min-executions:20}")
+    private long minExecutions;
+
+    private ClientRateLimiter clientRateLimiter;
+    private AdaptiveConcurrencyLimit readLimit;
+    private AdaptiveConcurrencyLimit writeLimit;
+    private final Counter[][] requests = new Counter[RequestClass.values().length][Outcome.values().length];
+
+    private double baselineNanos = -1;
+    private int warmupIntervals;
+    private double warmupTotalNanos;
+    private volatile long lastAverageNanos;
+
+    @PostConstruct
+    void init() {
+        clientRateLimiter = new ClientRateLimiter(clientWriteRate, clientWriteBurst, maxClients);
+        readLimit = new AdaptiveConcurrencyLimit(readConcurrencyMin, readConcurrencyMax);
+        writeLimit = new AdaptiveConcurrencyLimit(writeConcurrencyMin, writeConcurrencyMax);
+        for (RequestClass requestClass : RequestClass.values()) {
+            String tag = requestClass.name().toLowerCase();
+            for (Outcome outcome : Outcome.values()) {
+                requests[requestClass.ordinal()][outcome.ordinal()] = Counter.builder("blog.admission.requests")
+                        .tag("class", tag).tag("outcome", outcome.name().toLowerCase()).register(registry);
+            }
+            AdaptiveConcurrencyLimit limit = limitFor(requestClass);
+            Gauge.builder("blog.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit).tag("class", tag).register(registry);
+            Gauge.builder("blog.admission.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight).tag("class", tag).register(registry);
+        }
+        Gauge.builder("blog.admission.clients", clientRateLimiter, ClientRateLimiter::trackedClients).register(registry);
+        Gauge.builder("blog.db.statement.latency", this, control -> control.lastAverageNanos / 1_000_000.0)
+                .baseUnit("milliseconds").register(registry);
+    }
+
+    // ADMITTED means a slot was taken and release(requestClass) must follow. retryAfter[0] is
+    // set to the seconds the client should wait otherwise.
+    public Outcome tryAdmit(RequestClass requestClass, String client, long[] retryAfter) {
+        Outcome outcome = admit(requestClass, client, retryAfter);
+        requests[requestClass.ordinal()][outcome.ordinal()].increment();
+        return outcome;
+    }
+
+    public void release(RequestClass requestClass) {
+        limitFor(requestClass).release();
+    }
+
+    private Outcome admit(RequestClass requestClass, String client, long[] retryAfter) {
+        if (requestClass == RequestClass.WRITE) {
+            long waitNanos = clientRateLimiter.tryAcquire(client, System.nanoTime());
+            if (waitNanos > 0) {
+                retryAfter[0] = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                return Outcome.RATE_LIMITED;
+            }
+        }
+        if (!limitFor(requestClass).tryAcquire()) {
+            retryAfter[0] = 1;
+            return Outcome.CONCURRENCY_LIMITED;
+        }
+        return Outcome.ADMITTED;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.admission.adjust-interval-ms:1000}")
+    public void adjustLimits() {
+        long[] interval = databaseLatency.drain();
+        int readPeak = readLimit.drainPeakInFlight();
+        int writePeak = writeLimit.drainPeakInFlight();
+        long executions = interval[0];
+        long average = interval[1];
+        if (executions > 0) {
+            lastAverageNanos = average;
+        }
+        if (executions < minExecutions) {
+            // Idle or nearly: nothing is overloaded, and a handful of statements is no measure
+            readLimit.increase();
+            writeLimit.increase();
+            return;
+        }
+        if (warmupIntervals < WARMUP_INTERVALS) {
+            warmupTotalNanos += average;
+            if (++warmupIntervals == WARMUP_INTERVALS) {
+                baselineNanos = warmupTotalNanos / WARMUP_INTERVALS;
+            }
+            readLimit.increase();
+            writeLimit.increase();
+            return;
+        }
+        boolean slow = average > baselineNanos * latencyTolerance
+                && average - baselineNanos > minLatencyIncreaseMs * 1_000_000;
+        if (slow) {
+            int readBefore = readLimit.getLimit();
+            int writeBefore = writeLimit.getLimit();
+            boolean cutReads = readPeak > readBefore * NEAR_LIMIT;
+            boolean cutWrites = writePeak > writeBefore * NEAR_LIMIT;
+            if (cutReads) {
+                readLimit.decrease();
+            }
+            if (cutWrites) {
+                writeLimit.decrease();
+            }
+            if (cutReads || cutWrites) {
+                log.info("Statements average {} ms against a usual {} ms: read limit {} -> {}, write limit {} -> {}",
+                        String.format("%.1f", average / 1e6), String.format("%.1f", baselineNanos / 1e6),
+                        readBefore, readLimit.getLimit(), writeBefore, writeLimit.getLimit());
+            }
+            baselineNanos += (average - baselineNanos) * SLOW_BASELINE_WEIGHT;
+        } else {
+            readLimit.increase();
+            writeLimit.increase();
+            baselineNanos += (average - baselineNanos) * BASELINE_WEIGHT;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.admission.client-sweep-ms:60000}")
+    public void sweepIdleClients() {
+        clientRateLimiter.sweep(System.nanoTime());
+    }
+
+    public AdaptiveConcurrencyLimit limitFor(RequestClass requestClass) {
+        return requestClass == RequestClass.READ ? readLimit : writeLimit;
+    }
+}
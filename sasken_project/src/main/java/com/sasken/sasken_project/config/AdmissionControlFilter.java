@@ -0,0 +1,102 @@
+package com.sasken.sasken_project.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.sasken.sasken_project.config.AdmissionControl.Outcome;
+import com.sasken.sasken_project.config.AdmissionControl.RequestClass;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Turns away API requests AdmissionControl does not admit with 429 and a Retry-After, before any
+// controller, transaction or connection is involved. GET and HEAD are reads, everything else a
+// write keyed by the client address (behind a proxy set server.forward-headers-strategy so that
+// is the real client). The event stream is left alone: it holds no connection while open and
+// would sit on a read slot for its whole life. A streamed response keeps its slot until the
+// async part completes.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String EVENTS_PATH = "/api/posts/events";
+
+    private final AdmissionControl admissionControl;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod()) || EVENTS_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        RequestClass requestClass = "GET".equals(method) || "HEAD".equals(method) ? RequestClass.READ : RequestClass.WRITE;
+        long[] retryAfter = new long[1];
+        Outcome outcome = admissionControl.tryAdmit(requestClass, request.getRemoteAddr(), retryAfter);
+        if (outcome != Outcome.ADMITTED) {
+            reject(response, retryAfter[0]);
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                admissionControl.release(requestClass);
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final Runnable release;
+
+        ReleaseOnCompletion(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new async cycle drops the listeners registered for the previous one
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
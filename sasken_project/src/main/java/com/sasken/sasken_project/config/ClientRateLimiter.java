@@ -0,0 +1,73 @@
+package com.sasken.sasken_project.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-client token buckets in GCRA form: a client is a single AtomicLong holding its theoretical
+// arrival time (TAT), advanced by one emission interval per admitted request with a CAS loop, so
+// admission never takes a lock. Up to burst requests pass back to back, then one per interval.
+// A client whose TAT has passed has a full bucket and is no different from a new one, so
+// sweep() can drop it; past maxClients, new clients share one overflow bucket until the next
+// sweep, so memory stays bounded however many addresses show up.
+public class ClientRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, AtomicLong> clients = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+    // NO_SWEEP_YET until the first inline sweep: nanoTime values can be anything, a fixed start
+    // value would overflow the comparison below
+    private static final long NO_SWEEP_YET = Long.MIN_VALUE;
+    private final AtomicLong nextInlineSweep = new AtomicLong(NO_SWEEP_YET);
+
+    public ClientRateLimiter(double requestsPerSecond, int burst, int maxClients) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.maxClients = maxClients;
+    }
+
+    // 0 if the request may go ahead, otherwise the nanos to wait before the next one would
+    public long tryAcquire(String client, long nowNanos) {
+        AtomicLong tat = clients.get(client);
+        if (tat == null) {
+            tat = track(client, nowNanos);
+        }
+        while (true) {
+            long current = tat.get();
+            long start = Math.max(current, nowNanos);
+            long wait = start - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Drops the clients whose bucket has refilled
+    public void sweep(long nowNanos) {
+        clients.values().removeIf(tat -> tat.get() - nowNanos <= 0);
+    }
+
+    public int trackedClients() {
+        return clients.size();
+    }
+
+    private AtomicLong track(String client, long nowNanos) {
+        if (clients.size() >= maxClients) {
+            // A flood of new addresses must not turn into a full scan per request: once a second
+            long next = nextInlineSweep.get();
+            if ((next == NO_SWEEP_YET || nowNanos - next >= 0)
+                    && nextInlineSweep.compareAndSet(next, nowNanos + TimeUnit.SECONDS.toNanos(1))) {
+                sweep(nowNanos);
+            }
+            if (clients.size() >= maxClients) {
+                return overflow;
+            }
+        }
+        return clients.computeIfAbsent(client, key -> new AtomicLong(nowNanos));
+    }
+}
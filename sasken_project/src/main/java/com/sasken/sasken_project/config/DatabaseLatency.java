@@ -0,0 +1,27 @@
+package com.sasken.sasken_project.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+// Statement execution times (fed by StatementTimingDataSource) summed per interval, for the
+// adaptive limits of AdmissionControl. Two adders, so recording never contends.
+@Component
+public class DatabaseLatency {
+
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+
+    public void record(long nanos) {
+        totalNanos.add(nanos);
+        executions.increment();
+    }
+
+    // { executions, average nanos } recorded since the previous call; the average is -1 if
+    // there were none
+    public long[] drain() {
+        long count = executions.sumThenReset();
+        long total = totalNanos.sumThenReset();
+        return new long[] { count, count == 0 ? -1 : total / count };
+    }
+}
@@ -0,0 +1,42 @@
+package com.sasken.sasken_project.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Request execution mode. spring.threads.virtual.enabled=true runs Tomcat requests (and so every
+// PostService call) plus @Scheduled work on virtual threads; false keeps the platform-thread pool.
+// In virtual mode the DataSource is wrapped so at most blog.db.max-concurrency threads
+// (default: the Hikari pool size) hold a connection at a time.
+@Configuration
+public class ExecutionModeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.db.limit-concurrency", havingValue = "true")
+    static BeanPostProcessor concurrencyLimitedDataSource(Environment env) {
+        int poolSize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConcurrency = env.getProperty("blog.db.max-concurrency", Integer.class, poolSize);
+        int maxWaiters = env.getProperty("blog.db.max-waiters", Integer.class, 1000);
+        long acquireTimeoutMs = env.getProperty("blog.db.acquire-timeout-ms", Long.class, 3000L);
+        log.info("Execution mode: {} threads, database concurrency limited to {} (max {} waiting)",
+                env.getProperty("spring.threads.virtual.enabled", Boolean.class, false) ? "virtual" : "platform",
+                maxConcurrency, maxWaiters);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, maxWaiters, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.sasken.sasken_project.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Metrics published on /actuator/prometheus, on top of what Spring Boot binds by itself
+// (http.server.requests per endpoint, hikaricp.* pool stats, hibernate.* session statistics):
+// - blog.service: a timer per PostService / DashboardService method, via @Timed on the classes
+// - blog.sql.statements: SQL statements issued per API request
+// Every statement is also timed at the JDBC level for the slow-query log (SlowQueryLog) and the
+// adaptive admission limits (DatabaseLatency).
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${blog.metrics.sql-statements-warn-threshold:25}")
+    private int sqlStatementsWarnThreshold;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", new SqlStatementCounter());
+    }
+
+    // Wraps the application DataSource; the log and latency tracker are looked up on first use,
+    // so they are not created as early as the post-processor itself
+    @Bean
+    static BeanPostProcessor statementTimingDataSource(ObjectProvider<SlowQueryLog> slowQueryLog,
+            ObjectProvider<DatabaseLatency> databaseLatency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)) {
+                    return new StatementTimingDataSource(dataSource, slowQueryLog::getIfAvailable, databaseLatency::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new SqlStatementsInterceptor(registry, sqlStatementsWarnThreshold))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,38 @@
+package com.sasken.sasken_project.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Remembers which PostService method the current thread is in, so the slow-query log can name
+// the caller of each statement. Only the outermost call counts: a PostService method calling
+// another through the proxy keeps the original entry point. Runs outside the transaction, so the
+// statements of the commit are attributed too.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryOriginAspect {
+
+    private static final ThreadLocal<String> ORIGIN = new ThreadLocal<>();
+
+    // "PostService.likePost", or null outside any PostService call (scheduled flushes, startup)
+    public static String current() {
+        return ORIGIN.get();
+    }
+
+    @Around("execution(public * com.sasken.sasken_project.service.PostService.*(..))")
+    public Object track(ProceedingJoinPoint call) throws Throwable {
+        if (ORIGIN.get() != null) {
+            return call.proceed();
+        }
+        ORIGIN.set("PostService." + call.getSignature().getName());
+        try {
+            return call.proceed();
+        } finally {
+            ORIGIN.remove();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.sasken.sasken_project.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Read replicas (blog.replicas.enabled=true). The application DataSource becomes
+// LazyConnectionDataSourceProxy -> ReplicaRoutingDataSource -> primary pool + one pool per
+// replica URL. Read-only transactions (PostService's default) are spread over the replicas,
+// writes and non-transactional JDBC stay on the primary. Replicas are health-checked every
+// blog.replicas.health-check-ms and a client that wrote within blog.replicas.sticky-window-ms
+// reads from the primary (ReadYourWritesFilter).
+@Configuration
+@ConditionalOnProperty(name = "blog.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    @Value("${blog.replicas.sticky-window-ms:5000}")
+    private long stickyWindowMs;
+
+    private ReplicaRoutingDataSource routing;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment env) {
+        HikariDataSource primary = pool(properties, env, "primary", properties.getUrl());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        String[] urls = StringUtils.commaDelimitedListToStringArray(env.getProperty("blog.replicas.urls", ""));
+        for (String url : urls) {
+            if (!url.isBlank()) {
+                HikariDataSource replica = pool(properties, env, "replica-" + (replicas.size() + 1), url.trim());
+                Integer poolSize = env.getProperty("blog.replicas.pool-size", Integer.class);
+                if (poolSize != null) {
+                    replica.setMaximumPoolSize(poolSize);
+                }
+                replica.setReadOnly(true);
+                replicas.put(replica.getPoolName(), replica);
+            }
+        }
+        routing = new ReplicaRoutingDataSource(primary, replicas,
+                env.getProperty("blog.replicas.validation-query", "SELECT 1 FROM posts WHERE id = 0"));
+        routing.checkReplicas();
+        log.info("Read replicas: {} configured, in rotation: {}", replicas.size(), routing.getHealthyReplicas());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Same driver, credentials and spring.datasource.hikari.* settings for every pool
+    private static HikariDataSource pool(DataSourceProperties properties, Environment env, String name, String url) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+
+    public ReplicaRoutingDataSource getRouting() {
+        return routing;
+    }
+
+    @Scheduled(initialDelayString = "${blog.replicas.health-check-ms:5000}",
+               fixedDelayString = "${blog.replicas.health-check-ms:5000}")
+    public void checkReplicas() {
+        routing.checkReplicas();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyWindowMs));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+
+    // The streamed listings are written on the MVC async executor: carry the pin over to it
+    @Bean
+    public TaskDecorator readYourWritesPropagation() {
+        return task -> {
+            if (!ReplicaRoutingDataSource.isPinnedToPrimary()) {
+                return task;
+            }
+            return () -> {
+                boolean previous = ReplicaRoutingDataSource.pinToPrimary();
+                try {
+                    task.run();
+                } finally {
+                    ReplicaRoutingDataSource.restore(previous);
+                }
+            };
+        };
+    }
+
+    // hikaricp.* meters for the replica pools (Spring Boot only binds the pool it can unwrap,
+    // the primary), tagged with pool=replica-N
+    @Bean
+    public MeterBinder replicaPoolMetrics() {
+        return registry -> routing.getResolvedDataSources().forEach((name, dataSource) -> {
+            if (!ReplicaRoutingDataSource.PRIMARY.equals(name) && dataSource instanceof HikariDataSource pool
+                    && pool.getMetricsTrackerFactory() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        });
+    }
+}
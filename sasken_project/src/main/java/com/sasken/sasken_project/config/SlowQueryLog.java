@@ -0,0 +1,256 @@
+package com.sasken.sasken_project.config;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sasken.sasken_project.dto.SlowQuery;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Receives every timed statement execution (StatementTimingDataSource). Executions of at least
+// blog.sql.slow-threshold-ms, plus a blog.sql.sample-rate share of the others, are queued and
+// written by a single background thread, with bind values and the PostService method that issued
+// them (QueryOriginAspect); the executing thread only pays for an offer() to a bounded queue, and
+// entries are dropped (and counted) rather than blocking it when the queue is full.
+// It also keeps the slowest blog.sql.top-size executions of the last blog.sql.top-window-ms for
+// GET /api/dashboard/slow-queries: the window is a ring of slices, each holding its own top N, so
+// old executions fall out a slice at a time. A statement faster than the current slice's slowest
+// N is rejected without taking the lock.
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final int TOP_SLICES = 5;
+    private static final int MAX_LOGGED_VALUE_LENGTH = 100;
+
+    @Value("${blog.sql.slow-threshold-ms:200}")
+    private long slowThresholdMs;
+
+    @Value("${blog.sql.sample-rate:0}")
+    private double sampleRate;
+
+    @Value("${blog.sql.log-queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${blog.sql.top-size:50}")
+    private int topSize;
+
+    @Value("${blog.sql.top-window-ms:900000}")
+    private long topWindowMs;
+
+    private long slowThresholdNanos;
+    private long sliceMs;
+
+    private BlockingQueue<Execution> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Ring indexed by (time / sliceMs) % TOP_SLICES; slices and their heaps are guarded by the array
+    private final Slice[] slices = new Slice[TOP_SLICES];
+    private volatile Slice current = new Slice(0);
+
+    @PostConstruct
+    void start() {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        sliceMs = Math.max(1, topWindowMs / TOP_SLICES);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::runLoop, "slow-query-log");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // Write out whatever is still queued
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(2000);
+    }
+
+    // Called on the executing thread; parameters belong to the statement and are copied if kept
+    public void record(String sql, Object[] parameters, int parameterCount, int batchSize, long nanos) {
+        boolean slow = nanos >= slowThresholdNanos;
+        boolean sampled = !slow && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        long now = System.currentTimeMillis();
+        Slice slice = current;
+        boolean top = now >= slice.end || nanos > slice.floor;
+        if (!slow && !sampled && !top) {
+            return;
+        }
+        Execution execution = new Execution(sql, Arrays.copyOf(parameters, parameterCount), batchSize, nanos,
+                QueryOriginAspect.current(), Thread.currentThread().getName(), now, slow);
+        if (top) {
+            addToTop(execution);
+        }
+        if ((slow || sampled) && !queue.offer(execution)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Slowest executions of the window, slowest first
+    public List<SlowQuery> top(int limit) {
+        List<Execution> executions = new ArrayList<>();
+        long oldest = System.currentTimeMillis() - topWindowMs;
+        synchronized (slices) {
+            for (Slice slice : slices) {
+                if (slice != null && slice.end > oldest) {
+                    executions.addAll(slice.heap);
+                }
+            }
+        }
+        executions.sort(Comparator.comparingLong((Execution e) -> e.nanos).reversed());
+        List<SlowQuery> result = new ArrayList<>();
+        for (Execution execution : executions.subList(0, Math.min(Math.min(limit, topSize), executions.size()))) {
+            result.add(execution.toSlowQuery());
+        }
+        return result;
+    }
+
+    private void addToTop(Execution execution) {
+        synchronized (slices) {
+            Slice slice = current;
+            if (execution.atMillis >= slice.end) {
+                long start = execution.atMillis - execution.atMillis % sliceMs;
+                slice = new Slice(start + sliceMs);
+                slices[(int) ((start / sliceMs) % TOP_SLICES)] = slice;
+                current = slice;
+            }
+            slice.add(execution, topSize);
+        }
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            Execution execution;
+            try {
+                execution = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                log.warn("{} slow-query log entries dropped, the log queue was full", lost);
+            }
+            if (execution != null) {
+                write(execution);
+            }
+        }
+    }
+
+    private void write(Execution execution) {
+        String batch = execution.batchSize > 0 ? " (batch of " + execution.batchSize + ")" : "";
+        String origin = execution.origin != null ? execution.origin : "-";
+        if (execution.slow) {
+            log.warn("Slow query {} ms{} from {} on {}: {} | parameters {}", String.format("%.1f", execution.millis()), batch,
+                    origin, execution.thread, execution.sql, formatAll(execution.parameters));
+        } else {
+            log.info("Sampled query {} ms{} from {} on {}: {} | parameters {}", String.format("%.1f", execution.millis()), batch,
+                    origin, execution.thread, execution.sql, formatAll(execution.parameters));
+        }
+    }
+
+    private static List<String> formatAll(Object[] parameters) {
+        List<String> formatted = new ArrayList<>(parameters.length);
+        for (Object parameter : parameters) {
+            formatted.add(format(parameter));
+        }
+        return formatted;
+    }
+
+    // Bodies and binary values are summarized, long text is cut
+    private static String format(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob) {
+            return "<" + value.getClass().getSimpleName() + ">";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_LOGGED_VALUE_LENGTH) {
+            text = text.substring(0, MAX_LOGGED_VALUE_LENGTH) + "…";
+        }
+        return value instanceof String ? "'" + text + "'" : text;
+    }
+
+    private static class Slice {
+        final long end;
+        final PriorityQueue<Execution> heap = new PriorityQueue<>(Comparator.comparingLong((Execution e) -> e.nanos));
+        // Fastest execution still in a full heap; anything not slower cannot get in
+        volatile long floor = Long.MIN_VALUE;
+
+        Slice(long end) {
+            this.end = end;
+        }
+
+        void add(Execution execution, int size) {
+            if (heap.size() < size) {
+                heap.add(execution);
+            } else if (execution.nanos > heap.peek().nanos) {
+                heap.poll();
+                heap.add(execution);
+            }
+            if (heap.size() >= size) {
+                floor = heap.peek().nanos;
+            }
+        }
+    }
+
+    private static class Execution {
+        final String sql;
+        final Object[] parameters;
+        final int batchSize;
+        final long nanos;
+        final String origin;
+        final String thread;
+        final long atMillis;
+        final boolean slow;
+
+        Execution(String sql, Object[] parameters, int batchSize, long nanos, String origin, String thread,
+                long atMillis, boolean slow) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.batchSize = batchSize;
+            this.nanos = nanos;
+            this.origin = origin;
+            this.thread = thread;
+            this.atMillis = atMillis;
+            this.slow = slow;
+        }
+
+        double millis() {
+            return nanos / 1_000_000.0;
+        }
+
+        SlowQuery toSlowQuery() {
+            return new SlowQuery(sql, formatAll(parameters), batchSize, millis(), origin, thread,
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(atMillis), ZoneId.systemDefault()));
+        }
+    }
+}
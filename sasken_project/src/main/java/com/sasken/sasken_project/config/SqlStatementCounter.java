@@ -0,0 +1,32 @@
+package com.sasken.sasken_project.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the SQL statements Hibernate prepares on the current thread between begin() and end().
+// Registered as Hibernate's statement inspector, so it sees every query, lazy load and flush
+// issued through JPA (JdbcTemplate work on background threads, like the comment writer's batches,
+// is not counted). Costs one ThreadLocal lookup per statement.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    // Statements counted since begin(), or -1 if nothing was being counted on this thread
+    public static int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : -1;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,152 @@
+package com.sasken.sasken_project.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Times every statement execution (Hibernate, Spring Data and JdbcTemplate alike) and hands it
+// to the SlowQueryLog with its SQL and bind values, and to DatabaseLatency. Prepared statements remember the values
+// passed to their setters; that is one array store per parameter, nothing is formatted or
+// allocated unless the log keeps the execution. The time covers execute*() only: reading a
+// streamed result set afterwards is not included.
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final Supplier<SlowQueryLog> slowQueryLog;
+    private final Supplier<DatabaseLatency> databaseLatency;
+    private volatile SlowQueryLog resolvedLog;
+    private volatile DatabaseLatency resolvedLatency;
+
+    public StatementTimingDataSource(DataSource target, Supplier<SlowQueryLog> slowQueryLog,
+            Supplier<DatabaseLatency> databaseLatency) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+        this.databaseLatency = databaseLatency;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> statement((Statement) result, Statement.class, null);
+                        case "prepareStatement" -> statement((Statement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> statement((Statement) result, CallableStatement.class, (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Object statement(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        StatementState state = new StatementState(preparedSql);
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (EXECUTE_METHODS.contains(name)) {
+                        if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                            state.sql = sql;
+                        }
+                        long start = System.nanoTime();
+                        try {
+                            return invoke(statement, method, args);
+                        } finally {
+                            long nanos = System.nanoTime() - start;
+                            boolean batch = name.endsWith("Batch");
+                            SlowQueryLog log = slowQueryLog();
+                            if (log != null && state.sql != null) {
+                                log.record(state.sql, state.parameters, state.count, batch ? state.batchSize : 0, nanos);
+                            }
+                            DatabaseLatency latency = databaseLatency();
+                            if (latency != null) {
+                                latency.record(nanos);
+                            }
+                            if (batch) {
+                                state.batchSize = 0;
+                            }
+                        }
+                    }
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        // setNull(index, sqlType) passes the type, not a value
+                        state.set(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        state.count = 0;
+                    } else if (name.equals("addBatch")) {
+                        state.batchSize++;
+                        if (args != null && args.length == 1) {
+                            state.sql = (String) args[0];
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private SlowQueryLog slowQueryLog() {
+        SlowQueryLog log = resolvedLog;
+        if (log == null) {
+            log = slowQueryLog.get();
+            resolvedLog = log;
+        }
+        return log;
+    }
+
+    private DatabaseLatency databaseLatency() {
+        DatabaseLatency latency = resolvedLatency;
+        if (latency == null) {
+            latency = databaseLatency.get();
+            resolvedLatency = latency;
+        }
+        return latency;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Per statement, only ever used by the thread holding the connection
+    private static class StatementState {
+        String sql;
+        Object[] parameters = new Object[8];
+        int count;
+        int batchSize;
+
+        StatementState(String sql) {
+            this.sql = sql;
+        }
+
+        void set(int index, Object value) {
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            count = Math.max(count, index);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.sasken.sasken_project.controller;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    // No connection available (pool exhausted, concurrency limit hit, database down):
+    // tell the client to back off instead of answering 500
+    @ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+    public ResponseEntity<Void> handleDatabaseUnavailable(RuntimeException e) {
+        log.warn("Database unavailable: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+    }
+
+    // An edit raced a status change or another edit of the same post (Post.version): the client
+    // should reload and try again
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentUpdate(OptimisticLockingFailureException e) {
+        log.info("Concurrent update rejected: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    // A streamed response (live updates, export) lost its client, usually a broken pipe: the
+    // async dispatch that follows has nobody left to answer. Other I/O failures stay 500s.
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<Void> handleIoFailure(IOException e, HttpServletRequest request) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            log.debug("Streamed response to a disconnected client: {}", e.getMessage());
+            return null;
+        }
+        log.error("I/O failure on {}", request.getRequestURI(), e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+}
@@ -1,15 +1,24 @@
 package com.sasken.sasken_project.controller;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sasken.sasken_project.config.SlowQueryLog;
+import com.sasken.sasken_project.dto.CacheStats;
+import com.sasken.sasken_project.dto.SlowQuery;
 import com.sasken.sasken_project.entity.DashboardAnalytics;
 import com.sasken.sasken_project.service.DashboardService;
+import com.sasken.sasken_project.service.PostCache;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -19,6 +28,12 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
     @GetMapping("/analytics")
     public ResponseEntity<DashboardAnalytics> getDashboardAnalytics() {
         try {
@@ -39,4 +54,34 @@ public class DashboardController {
         // CORRECTED: Removed backslash before underscore
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
+
+    // Snapshot time series for trend charts; defaults to the last 7 days
+    @GetMapping("/analytics/history")
+    public ResponseEntity<List<DashboardAnalytics>> getAnalyticsHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "200") int maxPoints) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        if (!start.isBefore(end) || maxPoints < 1 || maxPoints > 2000) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<DashboardAnalytics> history = dashboardService.getAnalyticsHistory(start, end, maxPoints);
+        return new ResponseEntity<>(history, HttpStatus.OK);
+    }
+
+    // Hit/miss/eviction counters of the single-post cache
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return new ResponseEntity<>(postCache.stats(), HttpStatus.OK);
+    }
+
+    // Slowest SQL executions of the last blog.sql.top-window-ms, with bind values and caller
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQuery>> getSlowQueries(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(slowQueryLog.top(limit), HttpStatus.OK);
+    }
 }
@@ -1,25 +1,55 @@
 package com.sasken.sasken_project.controller;
 
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.dto.CursorPage;
+import com.sasken.sasken_project.dto.LikeCount;
+import com.sasken.sasken_project.dto.PostPatch;
+import com.sasken.sasken_project.dto.ResourceVersion;
+import com.sasken.sasken_project.dto.PostSummary;
+import com.sasken.sasken_project.dto.TrendingPost;
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Feedback;
 import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.service.LiveUpdates;
 import com.sasken.sasken_project.service.PostService;
+import com.sasken.sasken_project.service.StatusTransitionException;
+import com.sasken.sasken_project.service.TrendingPosts;
+
+import jakarta.annotation.PostConstruct;
 
 
 @RestController
@@ -31,33 +61,170 @@ public class PostController {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private LiveUpdates liveUpdates;
+
+    @Autowired
+    private TrendingPosts trendingPosts;
+
+    @Value("${blog.bulk.max-items:1000}")
+    private int maxBulkItems;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Writes one post into an open array; flushing is left to the generator's buffer
+    private ObjectWriter postWriter;
 
+    @PostConstruct
+    void initWriters() {
+        postWriter = objectMapper.writerFor(Post.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+
+    // The full listings answer If-None-Match / If-Modified-Since with 304 after a single
+    // aggregate query, before any post is loaded or serialized. Otherwise the JSON array is
+    // streamed: written post by post as rows arrive, so the first bytes go out right away and
+    // memory does not grow with the number of posts.
     @GetMapping
-    public ResponseEntity<List<Post>> getAllPosts() {
-        List<Post> posts = postService.getAllPosts();
-        return new ResponseEntity<>(posts, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getAllPosts(WebRequest request) {
+        if (notModified(request, PostStatus.PUBLISHED)) {
+            return null; // 304 and validators already written by checkNotModified
+        }
+        return streamPosts(PostStatus.PUBLISHED);
     }
 
 
     @GetMapping("/drafts")
-    public ResponseEntity<List<Post>> getAllDrafts() {
-        List<Post> drafts = postService.getAllDrafts();
-        return new ResponseEntity<>(drafts, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getAllDrafts(WebRequest request) {
+        if (notModified(request, PostStatus.DRAFT)) {
+            return null;
+        }
+        return streamPosts(PostStatus.DRAFT);
     }
 
 
     @GetMapping("/review")
-    public ResponseEntity<List<Post>> getPostsForReview() {
-        List<Post> reviewPosts = postService.getAllForReview();
-        return new ResponseEntity<>(reviewPosts, HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> getPostsForReview(WebRequest request) {
+        if (notModified(request, PostStatus.REVIEWED)) {
+            return null;
+        }
+        return streamPosts(PostStatus.REVIEWED);
     }
 
 
+    private ResponseEntity<StreamingResponseBody> streamPosts(PostStatus status) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                json.flush(); // Commits the response headers now instead of after the first buffer
+                postService.forEachPost(status, post -> {
+                    try {
+                        postWriter.writeValue(json, post);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+
+    // Also sets ETag and Last-Modified on the response when the listing did change
+    private boolean notModified(WebRequest request, PostStatus status) {
+        ResourceVersion version = postService.getListVersion(status);
+        return request.checkNotModified(version.toETag("posts-" + status), version.lastModifiedMillis());
+    }
+
+
+    // Paginated summary listings: pass the returned nextCursor back to get the following page
+    @GetMapping("/summaries")
+    public ResponseEntity<CursorPage<PostSummary>> getPublishedSummaries(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(postService.getPublishedSummaries(cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    @GetMapping("/drafts/summaries")
+    public ResponseEntity<CursorPage<PostSummary>> getDraftSummaries(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(postService.getDraftSummaries(cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    @GetMapping("/review/summaries")
+    public ResponseEntity<CursorPage<PostSummary>> getReviewSummaries(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(postService.getReviewSummaries(cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    // Author feeds, newest first, same cursor scheme as the summaries above
+    @GetMapping("/authors/{author}/summaries")
+    public ResponseEntity<CursorPage<PostSummary>> getAuthorSummaries(@PathVariable String author,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(postService.getAuthorPublishedSummaries(author, cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    @GetMapping("/authors/{author}/drafts/summaries")
+    public ResponseEntity<CursorPage<PostSummary>> getAuthorDraftSummaries(@PathVariable String author,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(postService.getAuthorDraftSummaries(author, cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    // Live change feed for the dashboard and review pages (text/event-stream). Browsers send
+    // Last-Event-ID on reconnect and get the events they missed.
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // Not one of ours; treat as a fresh subscription
+            }
+        }
+        return liveUpdates.subscribe(resumeFrom);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Post> getPostById(@PathVariable Long id) {
+    public ResponseEntity<Post> getPostById(@PathVariable Long id, WebRequest request) {
+        // Usually a cache hit, so a matching validator costs no query and no JSON encoding
         Optional<Post> post = postService.getPostById(id);
-        return post.map(p -> new ResponseEntity<>(p, HttpStatus.OK))
-                   .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        if (post.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        ResourceVersion version = ResourceVersion.of(post.get());
+        if (request.checkNotModified(version.toETag("post-" + id), version.lastModifiedMillis())) {
+            return null;
+        }
+        return new ResponseEntity<>(post.get(), HttpStatus.OK);
     }
 
 
@@ -82,23 +249,74 @@ public class PostController {
     }
 
 
+    // Partial update (see PostPatch): JSON Merge Patch for title and author, the text as a whole
+    // or as deltas. If-Match must carry the ETag the edit started from (or * to overwrite
+    // whatever is current); 409 if the post has been edited or changed status since, 428 without
+    // it. The answer carries the new ETag for the next patch, the same one a GET would give.
+    @PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<Post> patchPost(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        if (ifMatch == null) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_REQUIRED);
+        }
+        Post patched;
+        try {
+            Long expectedVersion = "*".equals(ifMatch.trim()) ? null : ResourceVersion.versionOf(ifMatch, "post-" + id);
+            patched = postService.patchPost(id, PostPatch.from(patch), expectedVersion);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (patched == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ResourceVersion.of(patched).toETag("post-" + id));
+        return new ResponseEntity<>(patched, headers, HttpStatus.OK);
+    }
+
+
+    // Status changes answer 409 when the workflow does not allow the move from the post's
+    // current status (or another change to the post won the race)
     @PutMapping("/{id}/publish")
     public ResponseEntity<Post> publishPost(@PathVariable Long id) {
-        Post publishedPost = postService.publishPost(id);
-        if (publishedPost != null) {
-            return new ResponseEntity<>(publishedPost, HttpStatus.OK);
+        try {
+            Post publishedPost = postService.publishPost(id);
+            if (publishedPost != null) {
+                return new ResponseEntity<>(publishedPost, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (StatusTransitionException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
 
     @PutMapping("/{id}/review")
     public ResponseEntity<Post> submitForReview(@PathVariable Long id) {
-        Post reviewPost = postService.submitForReview(id);
-        if (reviewPost != null) {
-            return new ResponseEntity<>(reviewPost, HttpStatus.OK);
+        try {
+            Post reviewPost = postService.submitForReview(id);
+            if (reviewPost != null) {
+                return new ResponseEntity<>(reviewPost, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (StatusTransitionException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+
+
+    @PutMapping("/{id}/archive")
+    public ResponseEntity<Post> archivePost(@PathVariable Long id) {
+        try {
+            Post archivedPost = postService.archivePost(id);
+            if (archivedPost != null) {
+                return new ResponseEntity<>(archivedPost, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (StatusTransitionException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
 
@@ -113,18 +331,76 @@ public class PostController {
     }
 
 
+    // Bulk endpoints: one request, one transaction, a result per item in request order.
+    // Per-item results cover what is checked up front (a missing title, an unknown id, a move the
+    // workflow forbids); a database error rolls back the whole request, nothing is created and
+    // the client gets the error status (500, or 503 without a connection) instead of a list.
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkItemResult>> createPosts(@RequestBody List<Post> posts) {
+        if (posts.isEmpty() || posts.size() > maxBulkItems) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(postService.createPosts(posts), HttpStatus.OK);
+    }
+
+
+    @PutMapping("/bulk/publish")
+    public ResponseEntity<List<BulkItemResult>> publishPosts(@RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxBulkItems) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(postService.publishPosts(ids), HttpStatus.OK);
+    }
+
+
+    @PutMapping("/bulk/review")
+    public ResponseEntity<List<BulkItemResult>> submitPostsForReview(@RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxBulkItems) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(postService.submitPostsForReview(ids), HttpStatus.OK);
+    }
+
+
+    @PutMapping("/bulk/archive")
+    public ResponseEntity<List<BulkItemResult>> archivePosts(@RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxBulkItems) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(postService.archivePosts(ids), HttpStatus.OK);
+    }
+
+
+    // POST rather than DELETE because the ids travel in the body
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<List<BulkItemResult>> deletePosts(@RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxBulkItems) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(postService.deletePosts(ids), HttpStatus.OK);
+    }
+
+
     @GetMapping("/search")
-    public ResponseEntity<List<Post>> searchPosts(@RequestParam String keyword) {
-        List<Post> posts = postService.searchPosts(keyword);
+    public ResponseEntity<List<Post>> searchPosts(@RequestParam String keyword,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(required = false) Integer size) {
+        List<Post> posts = postService.searchPosts(keyword, page, size);
         return new ResponseEntity<>(posts, HttpStatus.OK);
     }
 
+    // Published posts ranked by recent likes and comments; answered from memory
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingPost>> getTrendingPosts(@RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(trendingPosts.top(limit), HttpStatus.OK);
+    }
+
     // New endpoint to increment likes
     @PutMapping("/{id}/like")
-    public ResponseEntity<Post> likePost(@PathVariable Long id) {
-        Post likedPost = postService.likePost(id);
-        if (likedPost != null) {
-            return new ResponseEntity<>(likedPost, HttpStatus.OK);
+    public ResponseEntity<LikeCount> likePost(@PathVariable Long id) {
+        LikeCount likes = postService.likePost(id);
+        if (likes != null) {
+            return new ResponseEntity<>(likes, HttpStatus.OK);
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
@@ -132,22 +408,68 @@ public class PostController {
 
     // New endpoint to add comment
     @PostMapping("/{id}/comment")
-    public ResponseEntity<Post> addComment(@PathVariable Long id, @RequestBody String comment) {
-        Post postWithComment = postService.addComment(id, comment);
-        if (postWithComment != null) {
-            return new ResponseEntity<>(postWithComment, HttpStatus.OK);
+    public ResponseEntity<Comment> addComment(@PathVariable Long id, @RequestBody String comment,
+                                              @RequestParam(defaultValue = "Anonymous") String author) {
+        if (comment == null || comment.isBlank()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Comment saved = postService.addComment(id, author, comment.trim());
+            if (saved != null) {
+                return new ResponseEntity<>(saved, HttpStatus.CREATED);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPage<Comment>> getComments(@PathVariable Long id,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Comment> comments = postService.getComments(id, cursor, size);
+            if (comments != null) {
+                return new ResponseEntity<>(comments, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
 
     // New endpoint to add feedback
     @PostMapping("/{id}/feedback")
-    public ResponseEntity<Post> addFeedback(@PathVariable Long id, @RequestBody String feedback) {
-        Post postWithFeedback = postService.addFeedback(id, feedback);
-        if (postWithFeedback != null) {
-            return new ResponseEntity<>(postWithFeedback, HttpStatus.OK);
+    public ResponseEntity<Feedback> addFeedback(@PathVariable Long id, @RequestBody String feedback,
+                                                @RequestParam(defaultValue = "Anonymous") String author) {
+        if (feedback == null || feedback.isBlank()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            Feedback saved = postService.addFeedback(id, author, feedback.trim());
+            if (saved != null) {
+                return new ResponseEntity<>(saved, HttpStatus.CREATED);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+
+    @GetMapping("/{id}/feedback")
+    public ResponseEntity<CursorPage<Feedback>> getFeedback(@PathVariable Long id,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        try {
+            CursorPage<Feedback> feedback = postService.getFeedback(id, cursor, size);
+            if (feedback != null) {
+                return new ResponseEntity<>(feedback, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 }
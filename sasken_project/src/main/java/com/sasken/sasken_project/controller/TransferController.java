@@ -0,0 +1,112 @@
+package com.sasken.sasken_project.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.sasken.sasken_project.dto.TransferProgress;
+import com.sasken.sasken_project.service.BlogTransferService;
+import com.sasken.sasken_project.service.ImportAbortedException;
+import com.sasken.sasken_project.service.ImportInProgressException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+
+// Backup / migration of the whole blog as NDJSON (one post with its comments and feedback per line)
+@RestController
+@RequestMapping("/api/transfer")
+@CrossOrigin(origins = "*")
+public class TransferController {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferController.class);
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+
+    @Autowired
+    private BlogTransferService transferService;
+
+
+    // Streamed as it is read from the database; ?gzip=true compresses it into a .ndjson.gz file
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "false") boolean gzip) {
+        String fileName = "blog-" + LocalDate.now() + (gzip ? ".ndjson.gz" : ".ndjson");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream zipped = new GZIPOutputStream(out, 8192);
+                transferService.exportTo(zipped);
+                zipped.finish();
+            } else {
+                transferService.exportTo(out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+
+    // The request body is read line by line as it arrives, never buffered whole.
+    // Send a file from /export as is; gzip with ?gzip=true or Content-Encoding: gzip.
+    // A 400 carries the report of this request only: a body that is not gzip never starts an
+    // import, a stream that breaks off reports what was written before.
+    @PostMapping("/import")
+    public ResponseEntity<TransferProgress> importPosts(HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) {
+        InputStream in;
+        try {
+            in = request.getInputStream();
+            if (gzip || "gzip".equalsIgnoreCase(contentEncoding)) {
+                // Reads the gzip header already
+                in = new GZIPInputStream(in, 8192);
+            }
+        } catch (IOException e) {
+            log.warn("Import rejected: {}", e.getMessage());
+            TransferProgress rejected = new TransferProgress("import", false, 0, 0, 0, 0, LocalDateTime.now(), 0,
+                    List.of("line 0: unreadable request body (" + e.getMessage() + ")"));
+            return new ResponseEntity<>(rejected, HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(transferService.importFrom(in), HttpStatus.OK);
+        } catch (ImportInProgressException e) {
+            return new ResponseEntity<>(e.getRunning(), HttpStatus.CONFLICT);
+        } catch (ImportAbortedException e) {
+            log.warn("Import aborted: {}", e.getMessage());
+            return new ResponseEntity<>(e.getReport(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    // Latest export and import, including one still running
+    @GetMapping("/progress")
+    public ResponseEntity<Map<String, TransferProgress>> getProgress() {
+        Map<String, TransferProgress> progress = new LinkedHashMap<>();
+        progress.put("export", transferService.getExportProgress());
+        progress.put("import", transferService.getImportProgress());
+        return new ResponseEntity<>(progress, HttpStatus.OK);
+    }
+}
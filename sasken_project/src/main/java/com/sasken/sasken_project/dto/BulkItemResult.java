@@ -0,0 +1,26 @@
+package com.sasken.sasken_project.dto;
+
+// Outcome of one item of a bulk request; index is the item's position in the request body
+public class BulkItemResult {
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, NOT_FOUND, INVALID, CONFLICT
+    }
+
+    private final int index;
+    private final Long id;
+    private final Outcome outcome;
+    private final String message;
+
+    public BulkItemResult(int index, Long id, Outcome outcome, String message) {
+        this.index = index;
+        this.id = id;
+        this.outcome = outcome;
+        this.message = message;
+    }
+
+    public int getIndex() { return index; }
+    public Long getId() { return id; }
+    public Outcome getOutcome() { return outcome; }
+    public String getMessage() { return message; }
+}
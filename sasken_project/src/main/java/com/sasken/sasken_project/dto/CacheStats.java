@@ -0,0 +1,34 @@
+package com.sasken.sasken_project.dto;
+
+// Point-in-time counters of the single-post cache
+public class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long loads;
+    private final long evictions;
+    private final int entries;
+    private final long bytes;
+
+    public CacheStats(long hits, long misses, long loads, long evictions, int entries, long bytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loads = loads;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.bytes = bytes;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    // Misses minus loads is the number of requests that waited on another request's load
+    public long getLoads() { return loads; }
+    public long getEvictions() { return evictions; }
+    public int getEntries() { return entries; }
+    public long getBytes() { return bytes; }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
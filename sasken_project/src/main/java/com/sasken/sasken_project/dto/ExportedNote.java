@@ -0,0 +1,28 @@
+package com.sasken.sasken_project.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// A comment or a feedback note inside an ExportedPost. Ids are not kept: on import the notes of a
+// post are replaced as a whole and get fresh ids in the same order.
+public class ExportedNote {
+
+    private final String author;
+    private final String body;
+    private final LocalDateTime createdAt;
+
+    @JsonCreator
+    public ExportedNote(@JsonProperty("author") String author,
+                        @JsonProperty("body") String body,
+                        @JsonProperty("createdAt") LocalDateTime createdAt) {
+        this.author = author;
+        this.body = body;
+        this.createdAt = createdAt;
+    }
+
+    public String getAuthor() { return author; }
+    public String getBody() { return body; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
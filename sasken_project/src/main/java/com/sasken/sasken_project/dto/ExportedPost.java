@@ -0,0 +1,57 @@
+package com.sasken.sasken_project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+
+// One line of the NDJSON export: a post with its comments and feedback
+public class ExportedPost {
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final String author;
+    private final PostStatus status;
+    private final int likes;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final List<ExportedNote> comments;
+    private final List<ExportedNote> feedback;
+
+    @JsonCreator
+    public ExportedPost(@JsonProperty("id") Long id,
+                        @JsonProperty("title") String title,
+                        @JsonProperty("content") String content,
+                        @JsonProperty("author") String author,
+                        @JsonProperty("status") PostStatus status,
+                        @JsonProperty("likes") int likes,
+                        @JsonProperty("createdAt") LocalDateTime createdAt,
+                        @JsonProperty("updatedAt") LocalDateTime updatedAt,
+                        @JsonProperty("comments") List<ExportedNote> comments,
+                        @JsonProperty("feedback") List<ExportedNote> feedback) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.author = author;
+        this.status = status;
+        this.likes = likes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.comments = comments == null ? List.of() : comments;
+        this.feedback = feedback == null ? List.of() : feedback;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getContent() { return content; }
+    public String getAuthor() { return author; }
+    public PostStatus getStatus() { return status; }
+    public int getLikes() { return likes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public List<ExportedNote> getComments() { return comments; }
+    public List<ExportedNote> getFeedback() { return feedback; }
+}
@@ -0,0 +1,16 @@
+package com.sasken.sasken_project.dto;
+
+// Response of PUT /api/posts/{id}/like
+public class LikeCount {
+
+    private final Long id;
+    private final long likes;
+
+    public LikeCount(Long id, long likes) {
+        this.id = id;
+        this.likes = likes;
+    }
+
+    public Long getId() { return id; }
+    public long getLikes() { return likes; }
+}
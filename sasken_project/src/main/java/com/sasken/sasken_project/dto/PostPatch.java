@@ -0,0 +1,143 @@
+package com.sasken.sasken_project.dto;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// Body of PATCH /api/posts/{id}: a JSON Merge Patch (RFC 7396) of the editable fields, so members
+// left out keep their value. "title" and "author" replace the current value ("author": null
+// clears it, a title is required); "content" replaces the whole text, while "contentDeltas"
+// edits it in place: each {start, end, text} replaces the characters [start, end) of the text as
+// the previous delta left it. Offsets count UTF-16 code units, like JavaScript string indices.
+public class PostPatch {
+
+    private final boolean titleSet;
+    private final String title;
+    private final boolean authorSet;
+    private final String author;
+    private final String content;
+    private final List<TextDelta> contentDeltas;
+
+    public PostPatch(boolean titleSet, String title, boolean authorSet, String author, String content,
+            List<TextDelta> contentDeltas) {
+        this.titleSet = titleSet;
+        this.title = title;
+        this.authorSet = authorSet;
+        this.author = author;
+        this.content = content;
+        this.contentDeltas = contentDeltas;
+    }
+
+    public boolean isTitleSet() { return titleSet; }
+    public String getTitle() { return title; }
+    public boolean isAuthorSet() { return authorSet; }
+    public String getAuthor() { return author; }
+    public boolean isContentSet() { return content != null || !contentDeltas.isEmpty(); }
+
+    // Throws IllegalArgumentException for anything but the members above (status, likes and the
+    // version are not editable here) or for values of the wrong type
+    public static PostPatch from(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        boolean titleSet = false;
+        String title = null;
+        boolean authorSet = false;
+        String author = null;
+        String content = null;
+        List<TextDelta> deltas = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "title" -> {
+                    if (!value.isTextual() || value.asText().isBlank()) {
+                        throw new IllegalArgumentException("title must be a non-blank string");
+                    }
+                    titleSet = true;
+                    title = value.asText();
+                }
+                case "author" -> {
+                    if (!value.isNull() && !value.isTextual()) {
+                        throw new IllegalArgumentException("author must be a string or null");
+                    }
+                    authorSet = true;
+                    author = value.isNull() ? null : value.asText();
+                }
+                case "content" -> {
+                    if (!value.isTextual()) {
+                        throw new IllegalArgumentException("content must be a string");
+                    }
+                    content = value.asText();
+                }
+                case "contentDeltas" -> {
+                    if (!value.isArray()) {
+                        throw new IllegalArgumentException("contentDeltas must be an array");
+                    }
+                    for (JsonNode delta : value) {
+                        deltas.add(TextDelta.from(delta));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Field cannot be patched: " + field.getKey());
+            }
+        }
+        if (content != null && !deltas.isEmpty()) {
+            throw new IllegalArgumentException("Send either content or contentDeltas, not both");
+        }
+        return new PostPatch(titleSet, title, authorSet, author, content, deltas);
+    }
+
+    // The new text, or IllegalArgumentException if a delta does not fit the text it applies to
+    public String applyContent(String current) {
+        if (content != null) {
+            return content;
+        }
+        StringBuilder text = new StringBuilder(current != null ? current : "");
+        for (TextDelta delta : contentDeltas) {
+            if (delta.getEnd() > text.length()) {
+                throw new IllegalArgumentException("Delta [" + delta.getStart() + ", " + delta.getEnd()
+                        + ") is outside the content (" + text.length() + " characters)");
+            }
+            text.replace(delta.getStart(), delta.getEnd(), delta.getText());
+        }
+        return text.toString();
+    }
+
+    public static class TextDelta {
+
+        private final int start;
+        private final int end;
+        private final String text;
+
+        public TextDelta(int start, int end, String text) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+
+        public int getStart() { return start; }
+        public int getEnd() { return end; }
+        public String getText() { return text; }
+
+        static TextDelta from(JsonNode node) {
+            JsonNode start = node.get("start");
+            JsonNode end = node.get("end");
+            JsonNode text = node.get("text");
+            if (!isOffset(start) || !isOffset(end) || (text != null && !text.isTextual() && !text.isNull())) {
+                throw new IllegalArgumentException("A delta is {start, end, text} with integer offsets");
+            }
+            if (start.asInt() < 0 || end.asInt() < start.asInt()) {
+                throw new IllegalArgumentException("Delta offsets must satisfy 0 <= start <= end");
+            }
+            return new TextDelta(start.asInt(), end.asInt(), text == null || text.isNull() ? "" : text.asText());
+        }
+
+        private static boolean isOffset(JsonNode node) {
+            return node != null && node.isIntegralNumber() && node.canConvertToInt();
+        }
+    }
+}
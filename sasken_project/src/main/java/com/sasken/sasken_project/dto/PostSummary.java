@@ -0,0 +1,49 @@
+package com.sasken.sasken_project.dto;
+
+import java.time.LocalDateTime;
+
+import com.sasken.sasken_project.entity.Post.PostStatus;
+
+// Lightweight list view of a post: no body, no collections
+public class PostSummary {
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final PostStatus status;
+    private final int likes;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final String excerpt;
+    private final long commentCount;
+
+    // Used by the JPQL constructor expressions in PostRepository
+    public PostSummary(Long id, String title, String author, PostStatus status, int likes,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, String excerpt, long commentCount) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.status = status;
+        this.likes = likes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.excerpt = excerpt;
+        this.commentCount = commentCount;
+    }
+
+    // Same summary with the like count replaced (the query reads the persisted count only)
+    public PostSummary withLikes(int likes) {
+        return likes == this.likes ? this : new PostSummary(id, title, author, status, likes,
+                createdAt, updatedAt, excerpt, commentCount);
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public PostStatus getStatus() { return status; }
+    public int getLikes() { return likes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public String getExcerpt() { return excerpt; }
+    public long getCommentCount() { return commentCount; }
+}
@@ -0,0 +1,66 @@
+package com.sasken.sasken_project.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.sasken.sasken_project.entity.Post;
+
+// Validator data for conditional GETs: last modification time plus the counts that change a
+// representation without touching updatedAt (number of rows, likes), and the row version(s),
+// which change with every edit or status change even within one clock tick
+public class ResourceVersion {
+
+    private final LocalDateTime lastModified;
+    private final long count;
+    private final long likes;
+    private final long version;
+
+    // Used by the aggregate JPQL constructor expression in PostRepository
+    public ResourceVersion(LocalDateTime lastModified, Long count, Long likes, Long version) {
+        this.lastModified = lastModified;
+        this.count = count == null ? 0 : count;
+        this.likes = likes == null ? 0 : likes;
+        this.version = version == null ? 0 : version;
+    }
+
+    public static ResourceVersion of(Post post) {
+        return new ResourceVersion(post.getUpdatedAt(), 1L, (long) post.getLikes(), post.getVersion());
+    }
+
+    // Weak ETag (the gzipped and plain bodies are equivalent, not byte-identical, and Tomcat
+    // refuses to compress responses with a strong one); scope keeps validators of different
+    // resources from colliding
+    public String toETag(String scope) {
+        return "W/\"" + scope + "-" + lastModifiedMillis() + "-" + count + "-" + likes + "-" + version + "\"";
+    }
+
+    // Version an If-Match value produced by toETag(scope) was taken at, for write preconditions:
+    // only the version counts there, a like or a new comment since the GET is no conflict.
+    // IllegalArgumentException for anything else.
+    public static long versionOf(String eTag, String scope) {
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        String prefix = "\"" + scope + "-";
+        if (!value.startsWith(prefix) || !value.endsWith("\"") || value.length() <= prefix.length()) {
+            throw new IllegalArgumentException("Not an entity tag of " + scope + ": " + eTag);
+        }
+        String[] parts = value.substring(prefix.length(), value.length() - 1).split("-");
+        try {
+            return Long.parseLong(parts[parts.length - 1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an entity tag of " + scope + ": " + eTag, e);
+        }
+    }
+
+    // Epoch millis for Last-Modified, or -1 when nothing has been written yet
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+    public long getCount() { return count; }
+    public long getLikes() { return likes; }
+    public long getVersion() { return version; }
+}
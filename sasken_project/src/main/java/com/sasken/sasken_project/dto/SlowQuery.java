@@ -0,0 +1,38 @@
+package com.sasken.sasken_project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Entry of GET /api/dashboard/slow-queries: one timed statement execution
+public class SlowQuery {
+
+    private final String sql;
+    private final List<String> parameters;
+    private final int batchSize;
+    private final double durationMs;
+    private final String origin;
+    private final String thread;
+    private final LocalDateTime executedAt;
+
+    public SlowQuery(String sql, List<String> parameters, int batchSize, double durationMs, String origin,
+            String thread, LocalDateTime executedAt) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.batchSize = batchSize;
+        this.durationMs = durationMs;
+        this.origin = origin;
+        this.thread = thread;
+        this.executedAt = executedAt;
+    }
+
+    public String getSql() { return sql; }
+    // Bind values of the execution (of the last row for a batch)
+    public List<String> getParameters() { return parameters; }
+    // Rows in the JDBC batch, 0 for a single execution
+    public int getBatchSize() { return batchSize; }
+    public double getDurationMs() { return durationMs; }
+    // PostService method that issued the statement, null for background work
+    public String getOrigin() { return origin; }
+    public String getThread() { return thread; }
+    public LocalDateTime getExecutedAt() { return executedAt; }
+}
@@ -0,0 +1,42 @@
+package com.sasken.sasken_project.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// State of the latest export or import; also the final report returned by the import endpoint
+public class TransferProgress {
+
+    private final String operation;
+    private final boolean running;
+    private final long processed;
+    private final long inserted;
+    private final long updated;
+    private final long failed;
+    private final LocalDateTime startedAt;
+    private final long elapsedMs;
+    // The first few problems, as "line N: reason"
+    private final List<String> errors;
+
+    public TransferProgress(String operation, boolean running, long processed, long inserted, long updated,
+                            long failed, LocalDateTime startedAt, long elapsedMs, List<String> errors) {
+        this.operation = operation;
+        this.running = running;
+        this.processed = processed;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.failed = failed;
+        this.startedAt = startedAt;
+        this.elapsedMs = elapsedMs;
+        this.errors = errors;
+    }
+
+    public String getOperation() { return operation; }
+    public boolean isRunning() { return running; }
+    public long getProcessed() { return processed; }
+    public long getInserted() { return inserted; }
+    public long getUpdated() { return updated; }
+    public long getFailed() { return failed; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public long getElapsedMs() { return elapsedMs; }
+    public List<String> getErrors() { return errors; }
+}
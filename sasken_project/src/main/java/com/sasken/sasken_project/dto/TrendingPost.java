@@ -0,0 +1,30 @@
+package com.sasken.sasken_project.dto;
+
+import java.time.LocalDateTime;
+
+// Entry of GET /api/posts/trending; score is the decayed engagement at the time of the request
+public class TrendingPost {
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final LocalDateTime createdAt;
+    private final long likes;
+    private final double score;
+
+    public TrendingPost(Long id, String title, String author, LocalDateTime createdAt, long likes, double score) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.createdAt = createdAt;
+        this.likes = likes;
+        this.score = score;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getAuthor() { return author; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public long getLikes() { return likes; }
+    public double getScore() { return score; }
+}
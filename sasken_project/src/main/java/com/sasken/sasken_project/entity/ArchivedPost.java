@@ -0,0 +1,51 @@
+package com.sasken.sasken_project.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Cold storage (see ColdStorage): a post moved out of the hot tables, with its body, comments
+// and feedback, as one JSON document in the export format (ExportedPost), deflated like post
+// bodies. Only ever read by id, so it has no secondary indexes.
+@Entity
+@Table(name = "archived_posts")
+public class ArchivedPost {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "document", nullable = false)
+    private String document;
+
+    // Constructors
+    public ArchivedPost() {}
+
+    public ArchivedPost(Long postId, LocalDateTime archivedAt, String document) {
+        this.postId = postId;
+        this.archivedAt = archivedAt;
+        this.document = document;
+    }
+
+    // Getters and Setters
+    public Long getPostId() { return postId; }
+    public void setPostId(Long postId) { this.postId = postId; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+    public void setArchivedAt(LocalDateTime archivedAt) { this.archivedAt = archivedAt; }
+
+    public String getDocument() { return document; }
+    public void setDocument(String document) { this.document = document; }
+}
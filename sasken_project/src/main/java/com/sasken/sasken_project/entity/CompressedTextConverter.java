@@ -0,0 +1,81 @@
+package com.sasken.sasken_project.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores text as UTF-8 with a one-byte header: 0 = stored as is, 1 = deflated.
+// Only text above COMPRESS_THRESHOLD bytes is deflated, and only kept deflated if that is
+// actually smaller; short bodies are not worth the CPU.
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    public static final int COMPRESS_THRESHOLD = 1024;
+
+    private static final byte PLAIN = 0;
+    private static final byte DEFLATED = 1;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return encode(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        return decode(column);
+    }
+
+    // Also used where bodies are written with plain JDBC (import, legacy migration)
+    public static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > COMPRESS_THRESHOLD) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 3 + 16);
+            out.write(DEFLATED);
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            try (DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater)) {
+                deflating.write(utf8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                deflater.end();
+            }
+            if (out.size() < utf8.length + 1) {
+                return out.toByteArray();
+            }
+        }
+        byte[] plain = new byte[utf8.length + 1];
+        plain[0] = PLAIN;
+        System.arraycopy(utf8, 0, plain, 1, utf8.length);
+        return plain;
+    }
+
+    public static String decode(byte[] column) {
+        if (column == null || column.length == 0) {
+            return null;
+        }
+        if (column[0] == PLAIN) {
+            return new String(column, 1, column.length - 1, StandardCharsets.UTF_8);
+        }
+        if (column[0] != DEFLATED) {
+            throw new IllegalArgumentException("Unknown body encoding " + column[0]);
+        }
+        try (InflaterInputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(Arrays.copyOfRange(column, 1, column.length)))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
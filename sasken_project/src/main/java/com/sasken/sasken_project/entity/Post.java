@@ -1,39 +1,98 @@
 package com.sasken.sasken_project.entity;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+
+// The listings filter on status and sort on created_at or updated_at, the author feeds add the
+// author in front; InnoDB appends the primary key to every secondary index, which covers the
+// id tie-breaker of the keyset queries.
+// Dynamic updates: an UPDATE sets only the columns that changed, so autosaving an edit to the
+// text does not rewrite title and author; it costs a statement string per column combination
+// instead of one cached UPDATE.
 @Entity
-@Table(name = "posts")
+@DynamicUpdate
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_posts_status_updated", columnList = "status, updated_at"),
+        @Index(name = "idx_posts_author_status_created", columnList = "author, status, created_at") })
+@JsonIgnoreProperties(value = { "excerpt", "wordCount", "version" }, allowGetters = true) // server-maintained
 public class Post {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    public static final int EXCERPT_LENGTH = 300;
+
+    // Workflow: DRAFT -> REVIEWED -> PUBLISHED -> ARCHIVED; a draft may also be published
+    // directly (the drafts page offers it). Nothing moves backwards.
     public enum PostStatus {
-        DRAFT, PUBLISHED, REVIEWED, ARCHIVED
+        DRAFT, PUBLISHED, REVIEWED, ARCHIVED;
+
+        public boolean canMoveTo(PostStatus target) {
+            return switch (target) {
+                case REVIEWED -> this == DRAFT;
+                case PUBLISHED -> this == DRAFT || this == REVIEWED;
+                case ARCHIVED -> this == PUBLISHED;
+                case DRAFT -> false;
+            };
+        }
+
+        public static Set<PostStatus> sourcesOf(PostStatus target) {
+            Set<PostStatus> sources = EnumSet.noneOf(PostStatus.class);
+            for (PostStatus status : values()) {
+                if (status.canMoveTo(target)) {
+                    sources.add(status);
+                }
+            }
+            return sources;
+        }
     }
 
+    // Pooled sequence (a posts_seq table on MySQL) so ids are known before INSERT and
+    // Hibernate can batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = Post.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(columnDefinition = "TEXT")
+    // Lives in post_bodies (see PostBody); only set when the full post was asked for or is being
+    // written, so listings leave it out
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String content;
 
+    // Derived from content whenever it is set, so list screens never need the body
+    @Column(name = "excerpt", length = EXCERPT_LENGTH + 1)
+    private String excerpt;
+
+    @Column(name = "word_count", nullable = false)
+    @ColumnDefault("0")
+    private int wordCount;
+
     @Enumerated(EnumType.STRING)
     private PostStatus status = PostStatus.DRAFT;
 
@@ -46,14 +105,20 @@ public class Post {
     @Column(name = "author")
     private String author;
 
+    // Bumped by every content or status change (not by likes); entity saves check it and the
+    // status transitions in PostService guard on it, so concurrent writers cannot overwrite
+    // each other unnoticed
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     // New fields added
+    // Only LikeCounter writes this column (as likes = likes + ?), so entity saves never clobber it
+    @Column(updatable = false)
     private int likes = 0;
 
-    @ElementCollection
-    private List<String> comments = new ArrayList<>();
-
-    @ElementCollection
-    private List<String> feedback = new ArrayList<>();
+    // Comments and feedback live in their own append-only tables (see Comment and Feedback)
 
     @PrePersist
     protected void onCreate() {
@@ -71,8 +136,8 @@ public class Post {
 
     public Post(String title, String content, String author) {
         this.title = title;
-        this.content = content;
         this.author = author;
+        setContent(content);
     }
 
     // Getters and Setters (including new fields)
@@ -83,7 +148,15 @@ public class Post {
     public void setTitle(String title) { this.title = title; }
 
     public String getContent() { return content; }
-    public void setContent(String content) { this.content = content; }
+    public void setContent(String content) {
+        this.content = content;
+        this.excerpt = excerptOf(content);
+        this.wordCount = countWords(content);
+    }
+
+    public String getExcerpt() { return excerpt; }
+
+    public int getWordCount() { return wordCount; }
 
     public PostStatus getStatus() { return status; }
     public void setStatus(PostStatus status) { this.status = status; }
@@ -100,25 +173,75 @@ public class Post {
     public int getLikes() { return likes; }
     public void setLikes(int likes) { this.likes = likes; }
 
-    public List<String> getComments() { return comments; }
-    public void setComments(List<String> comments) { this.comments = comments; }
-
-    public List<String> getFeedback() { return feedback; }
-    public void setFeedback(List<String> feedback) { this.feedback = feedback; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    // Detached field-by-field copy, used to hand out cached posts without sharing instances
+    public Post copy() {
+        Post copy = new Post();
+        copy.title = title;
+        copy.content = content;
+        copy.excerpt = excerpt;
+        copy.wordCount = wordCount;
+        copy.author = author;
+        copy.id = id;
+        copy.status = status;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.likes = likes;
+        copy.version = version;
+        return copy;
+    }
 
     @Override
     public String toString() {
         return "Post{" +
                 "id=" + id +
                 ", title='" + title + '\'' +
-                ", content='" + content + '\'' +
+                ", wordCount=" + wordCount +
                 ", status=" + status +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 ", author='" + author + '\'' +
                 ", likes=" + likes +
-                ", comments=" + comments +
-                ", feedback=" + feedback +
+                ", version=" + version +
                 '}';
     }
+
+    // First EXCERPT_LENGTH characters, cut back to a word boundary and marked with an ellipsis
+    // when the content is longer
+    public static String excerptOf(String content) {
+        if (content == null) {
+            return null;
+        }
+        String text = content.strip();
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = EXCERPT_LENGTH;
+        if (Character.isLowSurrogate(text.charAt(end))) {
+            end--;
+        }
+        int space = text.lastIndexOf(' ', end);
+        if (space > EXCERPT_LENGTH / 2) {
+            end = space;
+        }
+        return text.substring(0, end).stripTrailing() + "\u2026";
+    }
+
+    public static int countWords(String content) {
+        if (content == null) {
+            return 0;
+        }
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < content.length(); i++) {
+            boolean letter = !Character.isWhitespace(content.charAt(i));
+            if (letter && !inWord) {
+                words++;
+            }
+            inWord = letter;
+        }
+        return words;
+    }
 }
@@ -0,0 +1,42 @@
+package com.sasken.sasken_project.entity;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// The full text of a post, kept out of the posts row so listings, counts, status changes and
+// like updates only ever touch narrow rows. Shares the post's id and is only read when a
+// single post is opened (or for search indexing and export).
+@Entity
+@Table(name = "post_bodies")
+public class PostBody {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "content")
+    private String content;
+
+    // Constructors
+    public PostBody() {}
+
+    public PostBody(Long postId, String content) {
+        this.postId = postId;
+        this.content = content;
+    }
+
+    // Getters and Setters
+    public Long getPostId() { return postId; }
+    public void setPostId(Long postId) { this.postId = postId; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+}
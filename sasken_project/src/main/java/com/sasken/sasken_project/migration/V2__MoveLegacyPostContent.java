@@ -0,0 +1,36 @@
+package com.sasken.sasken_project.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.sasken.sasken_project.service.PostBodyMigrator;
+
+// Databases baselined from a ddl-auto=update schema may still have the legacy posts.content
+// column. Its text is moved to post_bodies (compressed, with excerpt and word count) the same
+// way PostBodyMigrator does it, then the column is dropped. A fresh V1 schema has no such
+// column and nothing happens.
+public class V2__MoveLegacyPostContent extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V2__MoveLegacyPostContent.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!PostBodyMigrator.hasLegacyContentColumn(jdbcTemplate)) {
+            return;
+        }
+        long migrated = 0;
+        int moved;
+        while ((moved = PostBodyMigrator.migrateBatch(jdbcTemplate, BATCH_SIZE)) > 0) {
+            migrated += moved;
+        }
+        jdbcTemplate.execute("ALTER TABLE posts DROP COLUMN content");
+        log.info("Moved the text of {} posts to post_bodies and dropped posts.content", migrated);
+    }
+}
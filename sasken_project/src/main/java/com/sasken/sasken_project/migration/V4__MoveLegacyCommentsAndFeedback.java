@@ -0,0 +1,38 @@
+package com.sasken.sasken_project.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.sasken.sasken_project.service.LegacyNotesMigrator;
+
+// Databases baselined from a ddl-auto=update schema may still have the post_comments and
+// post_feedback collection tables of the old Post entity. Their rows are copied into comments
+// and feedback the same way LegacyNotesMigrator does it, then the old tables are dropped. A
+// fresh V1 schema has no such tables and nothing happens.
+public class V4__MoveLegacyCommentsAndFeedback extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V4__MoveLegacyCommentsAndFeedback.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        for (String[] tables : LegacyNotesMigrator.TABLES) {
+            if (!LegacyNotesMigrator.hasTable(jdbcTemplate, tables[0])) {
+                continue;
+            }
+            long migrated = 0;
+            int moved;
+            while ((moved = LegacyNotesMigrator.migrateBatch(jdbcTemplate, tables[0], tables[1], tables[2], BATCH_SIZE)) > 0) {
+                migrated += moved;
+            }
+            jdbcTemplate.execute("DROP TABLE " + tables[0]);
+            log.info("Moved the {} of {} posts to {} and dropped {}", tables[1], migrated, tables[2], tables[0]);
+        }
+    }
+}
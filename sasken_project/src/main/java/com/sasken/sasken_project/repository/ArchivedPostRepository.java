@@ -0,0 +1,27 @@
+package com.sasken.sasken_project.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sasken.sasken_project.entity.ArchivedPost;
+
+@Repository
+public interface ArchivedPostRepository extends JpaRepository<ArchivedPost, Long> {
+
+    // Keyset chunks in id order (export)
+    List<ArchivedPost> findByPostIdGreaterThanOrderByPostIdAsc(Long afterId, Pageable page);
+
+    @Query("SELECT a.postId FROM ArchivedPost a WHERE a.postId IN :postIds")
+    List<Long> findPostIdsIn(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedPost a WHERE a.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
@@ -0,0 +1,42 @@
+package com.sasken.sasken_project.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sasken.sasken_project.entity.Comment;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    // Oldest first; ids are monotonic so the last id of a page is the cursor for the next one
+    List<Comment> findByPostIdAndIdGreaterThanOrderByIdAsc(Long postId, Long afterId, Pageable page);
+
+    // All rows for a chunk of posts in one query (export)
+    List<Comment> findByPostIdInOrderByPostIdAscIdAsc(Collection<Long> postIds);
+
+    // (postId, createdAt) of recent comments, to seed TrendingPosts; consume inside a transaction
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = PostRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT c.postId, c.createdAt FROM Comment c WHERE c.createdAt >= :since")
+    Stream<Object[]> streamPostActivitySince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
@@ -1,5 +1,8 @@
 package com.sasken.sasken_project.repository; // FIXED: Removed backslash
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository; // FIXED: Removed backslash
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,7 @@ import com.sasken.sasken_project.entity.DashboardAnalytics;
 public interface DashboardRepository extends JpaRepository<DashboardAnalytics, Long> {
     // This method finds the most recent analytics entry
     DashboardAnalytics findTopByOrderByCreatedAtDesc();
+
+    // Snapshot time series for the trend charts
+    List<DashboardAnalytics> findByCreatedAtBetweenOrderByCreatedAtAsc(LocalDateTime from, LocalDateTime to);
 }
@@ -0,0 +1,31 @@
+package com.sasken.sasken_project.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sasken.sasken_project.entity.Feedback;
+
+@Repository
+public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+
+    // Oldest first; ids are monotonic so the last id of a page is the cursor for the next one
+    List<Feedback> findByPostIdAndIdGreaterThanOrderByIdAsc(Long postId, Long afterId, Pageable page);
+
+    // All rows for a chunk of posts in one query (export)
+    List<Feedback> findByPostIdInOrderByPostIdAscIdAsc(Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM Feedback c WHERE c.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM Feedback c WHERE c.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
@@ -0,0 +1,27 @@
+package com.sasken.sasken_project.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sasken.sasken_project.entity.PostBody;
+
+@Repository
+public interface PostBodyRepository extends JpaRepository<PostBody, Long> {
+
+    // Bodies for a chunk of posts in one query (index rebuild, export)
+    List<PostBody> findByPostIdIn(Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM PostBody b WHERE b.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM PostBody b WHERE b.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
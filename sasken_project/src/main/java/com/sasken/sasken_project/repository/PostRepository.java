@@ -1,37 +1,155 @@
 package com.sasken.sasken_project.repository; // FIXED: Removed backslash
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import com.sasken.sasken_project.dto.PostSummary;
+import com.sasken.sasken_project.dto.ResourceVersion;
 import com.sasken.sasken_project.entity.Post; // FIXED: Removed backslash
 import com.sasken.sasken_project.entity.Post.PostStatus; // FIXED: Removed backslash
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    // Projection shared by the summary queries below: never loads the body or the comments
+    String SUMMARY_SELECT = "SELECT new com.sasken.sasken_project.dto.PostSummary("
+            + "p.id, p.title, p.author, p.status, p.likes, p.createdAt, p.updatedAt, "
+            + "p.excerpt, "
+            + "(SELECT COUNT(c) FROM Comment c WHERE c.postId = p.id)) FROM Post p ";
     
     // Find posts by status
     List<Post> findByStatus(PostStatus status);
     
-    // Find posts by author
-    List<Post> findByAuthor(String author);
-    
-    // Search posts by title (case-insensitive)
-    List<Post> findByTitleContainingIgnoreCase(String title);
-    
-    // Custom queries for specific post states
+    // Full listings per state, as cursors for the streaming endpoints: rows arrive fetch-size at a time
+    // (MySQL needs useCursorFetch=true for that) and entities are read-only, never dirty-checked.
+    // Must be consumed inside a transaction and closed.
+    String STREAM_FETCH_SIZE = "500";
+
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                 @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
     @Query("SELECT p FROM Post p WHERE p.status = 'DRAFT' ORDER BY p.updatedAt DESC")
-    List<Post> findAllDrafts();
-    
+    Stream<Post> streamAllDrafts();
+
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                 @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
     @Query("SELECT p FROM Post p WHERE p.status = 'REVIEWED' ORDER BY p.updatedAt DESC")
-    List<Post> findAllReviewed();
-    
+    Stream<Post> streamAllReviewed();
+
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                 @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
     @Query("SELECT p FROM Post p WHERE p.status = 'PUBLISHED' ORDER BY p.createdAt DESC")
-    List<Post> findAllPublished();
-    
+    Stream<Post> streamAllPublished();
+
+    // (id, title, author, createdAt, updatedAt, likes) of every published post, to seed TrendingPosts
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+                 @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p.id, p.title, p.author, p.createdAt, p.updatedAt, p.likes FROM Post p WHERE p.status = 'PUBLISHED'")
+    Stream<Object[]> streamTrendingSeeds();
+
+    // Same columns for those of the given posts that are published
+    @Query("SELECT p.id, p.title, p.author, p.createdAt, p.updatedAt, p.likes FROM Post p "
+            + "WHERE p.status = 'PUBLISHED' AND p.id IN :ids")
+    List<Object[]> findTrendingSeeds(@Param("ids") Collection<Long> ids);
+
+    // The post and its body in one round trip: a single row of (Post, String content), none if
+    // the post does not exist
+    @Query("SELECT p, b.content FROM Post p LEFT JOIN PostBody b ON b.postId = p.id WHERE p.id = :id")
+    List<Object[]> findWithContentById(@Param("id") Long id);
+
+    // Keyset chunks in id order (export)
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable page);
+
+    @Query("SELECT p.status FROM Post p WHERE p.id = :id")
+    Optional<PostStatus> findStatusById(@Param("id") Long id);
+
+    // Rows of (Long id, PostStatus status) for the ids that exist
+    @Query("SELECT p.id, p.status FROM Post p WHERE p.id IN :ids")
+    List<Object[]> findStatusesByIds(@Param("ids") Collection<Long> ids);
+
+    // Guarded status transition in one statement: applies only while the post still has one of
+    // the allowed source statuses and the version the caller decided on. Returns the rows changed
+    // (0 or 1) and bumps the version like an entity save would.
+    @Modifying
+    @Query("UPDATE Post p SET p.status = :to, p.updatedAt = :now, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.status IN :from AND p.version = :version")
+    int updateStatus(@Param("id") Long id, @Param("from") Collection<PostStatus> from, @Param("version") long version,
+            @Param("to") PostStatus to, @Param("now") LocalDateTime now);
+
+    // Candidates for cold storage, least recently changed first (idx_posts_status_updated).
+    // Locked until the moving transaction ends, so no edit or like flush can land between
+    // copying a post and deleting it.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Post p WHERE p.status = :status AND p.updatedAt < :before ORDER BY p.updatedAt, p.id")
+    List<Post> findIdleForUpdate(@Param("status") PostStatus status, @Param("before") LocalDateTime before, Pageable page);
+
+    // Published posts neither changed nor commented on since the given time
+    @Query("SELECT p.id FROM Post p WHERE p.status = 'PUBLISHED' AND p.updatedAt < :before "
+            + "AND NOT EXISTS (SELECT c.id FROM Comment c WHERE c.postId = p.id AND c.createdAt >= :before) "
+            + "ORDER BY p.updatedAt, p.id")
+    List<Long> findIdlePublishedIds(@Param("before") LocalDateTime before, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Narrow read used to seed the in-memory like counter
+    @Query("SELECT p.likes FROM Post p WHERE p.id = :id")
+    Integer findLikesById(@Param("id") Long id);
+
     // Count posts by status (used by DashboardService)
     @Query("SELECT COUNT(p) FROM Post p WHERE p.status = :status")
     Long countByStatus(@Param("status") PostStatus status);
+
+    // Validator for a whole status listing; one aggregate row, no entities loaded
+    @Query("SELECT new com.sasken.sasken_project.dto.ResourceVersion(MAX(p.updatedAt), COUNT(p), SUM(p.likes), SUM(p.version)) "
+            + "FROM Post p WHERE p.status = :status")
+    ResourceVersion findListVersion(@Param("status") PostStatus status);
+
+    // All status counts in one round trip: rows of (PostStatus, Long)
+    @Query("SELECT p.status, COUNT(p) FROM Post p GROUP BY p.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Keyset pagination on (createdAt, id), newest first; the page size comes from the Pageable.
+    // The first page starts from PostCursor.TOP. The plain createdAt <= bound is implied by the
+    // keyset condition but, unlike the OR, is a range on idx_posts_status_created, which is what
+    // makes the database read that index rather than any other one led by status.
+    @Query(SUMMARY_SELECT + "WHERE p.status = :status AND p.createdAt <= :createdAt "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesByCreatedAtBefore(@Param("status") PostStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
+
+    // Keyset pagination on (updatedAt, id), most recently touched first; same bound on
+    // idx_posts_status_updated
+    @Query(SUMMARY_SELECT + "WHERE p.status = :status AND p.updatedAt <= :updatedAt "
+            + "AND (p.updatedAt < :updatedAt OR (p.updatedAt = :updatedAt AND p.id < :id)) "
+            + "ORDER BY p.updatedAt DESC, p.id DESC")
+    List<PostSummary> findSummariesByUpdatedAtBefore(@Param("status") PostStatus status,
+            @Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id, Pageable page);
+
+    // Author feeds: keyset pagination on (createdAt, id) within one author and status
+    @Query(SUMMARY_SELECT + "WHERE p.author = :author AND p.status = :status ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findAuthorSummaries(@Param("author") String author, @Param("status") PostStatus status, Pageable page);
+
+    @Query(SUMMARY_SELECT + "WHERE p.author = :author AND p.status = :status "
+            + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findAuthorSummariesBefore(@Param("author") String author, @Param("status") PostStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable page);
 }
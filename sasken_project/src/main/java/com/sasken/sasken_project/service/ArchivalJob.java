@@ -0,0 +1,163 @@
+package com.sasken.sasken_project.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.sasken.sasken_project.config.ReplicaRoutingDataSource;
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.dto.BulkItemResult.Outcome;
+import com.sasken.sasken_project.repository.PostRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Tiers old posts out of the hot tables. Every blog.archival.interval-ms:
+//  1. if blog.archival.published-idle-days > 0, published posts not edited or commented on for
+//     that long are archived (the regular ARCHIVED transition, events and all);
+//  2. ARCHIVED posts unchanged for blog.archival.archived-idle-days move to cold storage.
+// Work is done in batches of blog.archival.batch-size posts, one short transaction each, with a
+// blog.archival.batch-pause-ms pause in between and at most blog.archival.max-batches-per-run
+// per step, so a large backlog drains over several runs instead of holding connections and row
+// locks against live traffic. Runs on its own thread: the pauses must not delay the shared
+// scheduler (like flushes, live updates).
+@Component
+public class ArchivalJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivalJob.class);
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ColdStorage coldStorage;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Value("${blog.archival.enabled:true}")
+    private boolean enabled;
+
+    @Value("${blog.archival.interval-ms:3600000}")
+    private long intervalMs;
+
+    @Value("${blog.archival.published-idle-days:0}")
+    private int publishedIdleDays;
+
+    @Value("${blog.archival.archived-idle-days:30}")
+    private int archivedIdleDays;
+
+    @Value("${blog.archival.batch-size:100}")
+    private int batchSize;
+
+    @Value("${blog.archival.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${blog.archival.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    private ScheduledExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "post-archival");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.warn("Archival run failed, retrying in {} ms", intervalMs, e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // One pass of both steps; returns the number of posts moved to cold storage. A call while a
+    // pass is running returns 0 right away.
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            int archived = publishedIdleDays > 0 ? archiveIdlePublished(now.minusDays(publishedIdleDays)) : 0;
+            int moved = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (batch > 0 && !pause()) {
+                    break;
+                }
+                int count = coldStorage.moveIdle(now.minusDays(archivedIdleDays), batchSize);
+                moved += count;
+                if (count < batchSize) {
+                    break;
+                }
+            }
+            if (archived > 0 || moved > 0) {
+                log.info("Archival: {} idle published posts archived, {} archived posts moved to cold storage in {} ms",
+                        archived, moved, System.currentTimeMillis() - start);
+            }
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveIdlePublished(LocalDateTime idleBefore) {
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (batch > 0 && !pause()) {
+                break;
+            }
+            // Candidates from the primary: a lagging replica would hand back posts just archived
+            List<Long> ids = ReplicaRoutingDataSource.onPrimary(
+                    () -> postRepository.findIdlePublishedIds(idleBefore, PageRequest.of(0, batchSize)));
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (BulkItemResult result : postService.archivePosts(ids)) {
+                if (result.getOutcome() == Outcome.UPDATED) {
+                    archived++;
+                }
+            }
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    // False if interrupted (shutdown)
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
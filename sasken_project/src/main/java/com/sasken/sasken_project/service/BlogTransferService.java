@@ -0,0 +1,434 @@
+package com.sasken.sasken_project.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sasken.sasken_project.dto.ExportedNote;
+import com.sasken.sasken_project.dto.ExportedPost;
+import com.sasken.sasken_project.dto.TransferProgress;
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.CompressedTextConverter;
+import com.sasken.sasken_project.entity.Feedback;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.PostBody;
+import com.sasken.sasken_project.repository.CommentRepository;
+import com.sasken.sasken_project.repository.FeedbackRepository;
+import com.sasken.sasken_project.repository.PostBodyRepository;
+import com.sasken.sasken_project.repository.PostRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Whole-blog export and import as newline-delimited JSON, one ExportedPost per line.
+//
+// Export walks the posts in id order in keyset chunks; each chunk (posts plus their bodies,
+// comments and feedback, three IN queries) is read in its own short transaction and written out
+// before the next is loaded, so neither memory nor a database connection is held for the whole
+// download. Posts in cold storage follow, read the same way; importing them makes them hot
+// again (as ARCHIVED, for the archival job to move back).
+//
+// Import parses one line at a time and writes batches of import-batch-size posts, each in its
+// own transaction, with JDBC batches: posts whose id exists are updated, others inserted with
+// their id, and the body, comments and feedback of every post in the batch are replaced.
+// Running the same file twice leaves the same data. Caches, the search index, the like counter
+// and the status counters are brought up to date after each batch / at the end, and posts_seq
+// is moved past the imported ids.
+@Service
+public class BlogTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogTransferService.class);
+
+    private static final String INSERT_POST = "INSERT INTO posts (id, title, excerpt, word_count, author, status, likes, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_POST = "UPDATE posts SET title = ?, excerpt = ?, word_count = ?, author = ?, status = ?, "
+            + "likes = ?, created_at = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+    private static final String INSERT_BODY = "INSERT INTO post_bodies (post_id, content) VALUES (?, ?)";
+    private static final String INSERT_COMMENT = "INSERT INTO comments (post_id, author, body, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_FEEDBACK = "INSERT INTO feedback (post_id, author, body, created_at) VALUES (?, ?, ?, ?)";
+
+    @Value("${blog.transfer.export-chunk-size:500}")
+    private int exportChunkSize;
+
+    @Value("${blog.transfer.import-batch-size:500}")
+    private int importBatchSize;
+
+    @Value("${blog.transfer.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${blog.transfer.progress-log-every:10000}")
+    private long progressLogEvery;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostBodyRepository postBodyRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private StatusCounters statusCounters;
+
+    @Autowired
+    private TrendingPosts trendingPosts;
+
+    @Autowired
+    private PostIdSequenceAligner sequenceAligner;
+
+    @Autowired
+    private ColdStorage coldStorage;
+
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    private final AtomicBoolean importing = new AtomicBoolean();
+    private volatile Run lastExport;
+    private volatile Run lastImport;
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Writes every post as one JSON line; returns the number of posts written
+    public long exportTo(OutputStream out) throws IOException {
+        Run run = new Run("export");
+        lastExport = run;
+        ObjectWriter writer = objectMapper.writerFor(ExportedPost.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(new SerializedString(""));
+        try {
+            writeChunks(json, writer, run, this::loadChunk);
+            writeChunks(json, writer, run, afterId -> coldStorage.findChunk(afterId, exportChunkSize));
+            json.close();
+            log.info("Exported {} posts in {} ms", run.processed.get(), run.elapsedMs());
+            return run.processed.get();
+        } finally {
+            run.finish();
+        }
+    }
+
+    // Loads and writes keyset chunks (in read-only transactions) until one comes back empty
+    private void writeChunks(JsonGenerator json, ObjectWriter writer, Run run, LongFunction<List<ExportedPost>> loader)
+            throws IOException {
+        long afterId = Long.MIN_VALUE;
+        while (true) {
+            long from = afterId;
+            List<ExportedPost> chunk = readTransaction.execute(status -> loader.apply(from));
+            if (chunk == null || chunk.isEmpty()) {
+                return;
+            }
+            for (ExportedPost post : chunk) {
+                writer.writeValue(json, post);
+                json.writeRaw('\n');
+            }
+            json.flush();
+            afterId = chunk.get(chunk.size() - 1).getId();
+            run.advance(chunk.size());
+        }
+    }
+
+    private List<ExportedPost> loadChunk(long afterId) {
+        List<Post> posts = postRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, exportChunkSize));
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = posts.stream().map(Post::getId).collect(Collectors.toList());
+        Map<Long, String> bodies = new HashMap<>();
+        for (PostBody body : postBodyRepository.findByPostIdIn(ids)) {
+            bodies.put(body.getPostId(), body.getContent());
+        }
+        Map<Long, List<ExportedNote>> comments = commentRepository.findByPostIdInOrderByPostIdAscIdAsc(ids).stream()
+                .collect(Collectors.groupingBy(Comment::getPostId,
+                        Collectors.mapping(c -> new ExportedNote(c.getAuthor(), c.getBody(), c.getCreatedAt()), Collectors.toList())));
+        Map<Long, List<ExportedNote>> feedback = feedbackRepository.findByPostIdInOrderByPostIdAscIdAsc(ids).stream()
+                .collect(Collectors.groupingBy(Feedback::getPostId,
+                        Collectors.mapping(f -> new ExportedNote(f.getAuthor(), f.getBody(), f.getCreatedAt()), Collectors.toList())));
+        List<ExportedPost> chunk = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            chunk.add(new ExportedPost(post.getId(), post.getTitle(), bodies.get(post.getId()), post.getAuthor(), post.getStatus(),
+                    likeCounter.currentLikes(post.getId(), post.getLikes()), post.getCreatedAt(), post.getUpdatedAt(),
+                    comments.getOrDefault(post.getId(), List.of()), feedback.getOrDefault(post.getId(), List.of())));
+        }
+        return chunk;
+    }
+
+    // Reads NDJSON until the end of the stream. Invalid lines are counted and reported, not fatal;
+    // unparseable JSON stops the import (batches already written stay written), and so does a
+    // stream that fails to read: ImportAbortedException with this import's report. Only one
+    // import runs at a time: ImportInProgressException if another one is in progress.
+    public TransferProgress importFrom(InputStream in) throws ImportAbortedException {
+        if (!importing.compareAndSet(false, true)) {
+            throw new ImportInProgressException(getImportProgress());
+        }
+        Run run = new Run("import");
+        lastImport = run;
+        long line = 0;
+        IOException readFailure = null;
+        try {
+            Map<Long, ExportedPost> batch = new LinkedHashMap<>();
+            try (MappingIterator<ExportedPost> lines = objectMapper.readerFor(ExportedPost.class).readValues(in)) {
+                while (true) {
+                    ExportedPost post;
+                    try {
+                        if (!lines.hasNextValue()) {
+                            break;
+                        }
+                        line++;
+                        post = lines.nextValue();
+                    } catch (JsonProcessingException e) {
+                        run.fail(line, "unreadable JSON, import stopped (" + e.getOriginalMessage() + ")", maxReportedErrors);
+                        break;
+                    }
+                    String problem = validate(post);
+                    if (problem != null) {
+                        run.fail(line, problem, maxReportedErrors);
+                        continue;
+                    }
+                    // A repeated id within a batch keeps its last line, as two batches would
+                    batch.remove(post.getId());
+                    batch.put(post.getId(), post);
+                    if (batch.size() >= importBatchSize) {
+                        writeBatch(new ArrayList<>(batch.values()), run);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(new ArrayList<>(batch.values()), run);
+            }
+        } catch (IOException e) {
+            run.fail(line, "read failed, import stopped (" + e.getMessage() + ")", maxReportedErrors);
+            readFailure = e;
+        } finally {
+            statusCounters.resync();
+            // Imported rows publish no events; imported likes and comments count from here on
+            trendingPosts.rebuild();
+            sequenceAligner.align();
+            if (run.highestInsertedId.get() > 0) {
+                sequenceAligner.skipPast(run.highestInsertedId.get());
+            }
+            run.finish();
+            importing.set(false);
+            log.info("Import finished: {} lines, {} inserted, {} updated, {} failed in {} ms",
+                    run.processed.get(), run.inserted.get(), run.updated.get(), run.failed.get(), run.elapsedMs());
+        }
+        if (readFailure != null) {
+            throw new ImportAbortedException(run.snapshot(), readFailure);
+        }
+        return run.snapshot();
+    }
+
+    public TransferProgress getExportProgress() {
+        Run run = lastExport;
+        return run == null ? null : run.snapshot();
+    }
+
+    public TransferProgress getImportProgress() {
+        Run run = lastImport;
+        return run == null ? null : run.snapshot();
+    }
+
+    private static String validate(ExportedPost post) {
+        if (post == null) {
+            return "empty line";
+        }
+        if (post.getId() == null || post.getId() <= 0) {
+            return "id is required";
+        }
+        if (post.getTitle() == null || post.getTitle().isBlank()) {
+            return "title is required for post " + post.getId();
+        }
+        if (post.getStatus() == null) {
+            return "status is required for post " + post.getId();
+        }
+        return null;
+    }
+
+    private void writeBatch(List<ExportedPost> batch, Run run) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> existing = writeTransaction.execute(status -> {
+            List<Long> ids = batch.stream().map(ExportedPost::getId).collect(Collectors.toList());
+            Set<Long> found = new HashSet<>();
+            for (Object[] row : postRepository.findStatusesByIds(ids)) {
+                found.add((Long) row[0]);
+            }
+
+            List<Object[]> updates = new ArrayList<>();
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> bodies = new ArrayList<>();
+            List<Object[]> comments = new ArrayList<>();
+            List<Object[]> feedback = new ArrayList<>();
+            for (ExportedPost post : batch) {
+                Timestamp createdAt = timestamp(post.getCreatedAt(), now);
+                Timestamp updatedAt = timestamp(post.getUpdatedAt(), now);
+                String excerpt = Post.excerptOf(post.getContent());
+                int wordCount = Post.countWords(post.getContent());
+                if (found.contains(post.getId())) {
+                    updates.add(new Object[] {post.getTitle(), excerpt, wordCount, post.getAuthor(), post.getStatus().name(),
+                            post.getLikes(), createdAt, updatedAt, post.getId()});
+                } else {
+                    run.highestInsertedId.accumulateAndGet(post.getId(), Math::max);
+                    inserts.add(new Object[] {post.getId(), post.getTitle(), excerpt, wordCount, post.getAuthor(),
+                            post.getStatus().name(), post.getLikes(), createdAt, updatedAt});
+                }
+                bodies.add(new Object[] {post.getId(), CompressedTextConverter.encode(post.getContent())});
+                for (ExportedNote note : post.getComments()) {
+                    comments.add(new Object[] {post.getId(), note.getAuthor(), note.getBody(), timestamp(note.getCreatedAt(), now)});
+                }
+                for (ExportedNote note : post.getFeedback()) {
+                    feedback.add(new Object[] {post.getId(), note.getAuthor(), note.getBody(), timestamp(note.getCreatedAt(), now)});
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_POST, updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_POST, inserts);
+            }
+            // A post imported back from cold storage is hot again: its archived copy would be exported
+            // after it and overwrite it on the next import
+            coldStorage.deleteAll(ids);
+            // Bodies and notes are replaced as a whole, which is what makes re-running an import harmless
+            postBodyRepository.deleteByPostIdIn(ids);
+            jdbcTemplate.batchUpdate(INSERT_BODY, bodies);
+            commentRepository.deleteByPostIdIn(ids);
+            feedbackRepository.deleteByPostIdIn(ids);
+            if (!comments.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_COMMENT, comments);
+            }
+            if (!feedback.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_FEEDBACK, feedback);
+            }
+            return found;
+        });
+
+        // The rows were written with plain SQL, so bring the in-memory state along by hand
+        for (ExportedPost post : batch) {
+            likeCounter.forget(post.getId());
+            postCache.invalidate(post.getId());
+            Post indexed = new Post(post.getTitle(), post.getContent(), post.getAuthor());
+            indexed.setId(post.getId());
+            searchIndex.index(indexed);
+        }
+        long updated = existing == null ? 0 : existing.size();
+        run.written(batch.size() - updated, updated);
+        if (run.processed.get() / progressLogEvery != (run.processed.get() - batch.size()) / progressLogEvery) {
+            log.info("Import progress: {} posts written ({} inserted, {} updated), {} failed lines",
+                    run.processed.get(), run.inserted.get(), run.updated.get(), run.failed.get());
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime value, LocalDateTime fallback) {
+        return Timestamp.valueOf(value != null ? value : fallback);
+    }
+
+    // Counters for one export or import, readable while it runs
+    private static final class Run {
+        final String operation;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final long startedNanos = System.nanoTime();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong inserted = new AtomicLong();
+        final AtomicLong updated = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong highestInsertedId = new AtomicLong();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        volatile long finishedNanos;
+
+        Run(String operation) {
+            this.operation = operation;
+        }
+
+        void advance(long count) {
+            processed.addAndGet(count);
+        }
+
+        void written(long insertedCount, long updatedCount) {
+            processed.addAndGet(insertedCount + updatedCount);
+            inserted.addAndGet(insertedCount);
+            updated.addAndGet(updatedCount);
+        }
+
+        void fail(long line, String reason, int maxErrors) {
+            failed.incrementAndGet();
+            if (errors.size() < maxErrors) {
+                errors.add("line " + line + ": " + reason);
+            }
+        }
+
+        void finish() {
+            finishedNanos = System.nanoTime();
+        }
+
+        long elapsedMs() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return (end - startedNanos) / 1_000_000;
+        }
+
+        TransferProgress snapshot() {
+            List<String> copy;
+            synchronized (errors) {
+                copy = new ArrayList<>(errors);
+            }
+            return new TransferProgress(operation, finishedNanos == 0, processed.get(), inserted.get(), updated.get(),
+                    failed.get(), startedAt, elapsedMs(), copy);
+        }
+    }
+}
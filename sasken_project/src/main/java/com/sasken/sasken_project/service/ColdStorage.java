@@ -0,0 +1,164 @@
+package com.sasken.sasken_project.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasken.sasken_project.dto.ExportedNote;
+import com.sasken.sasken_project.dto.ExportedPost;
+import com.sasken.sasken_project.entity.ArchivedPost;
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Feedback;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.entity.PostBody;
+import com.sasken.sasken_project.repository.ArchivedPostRepository;
+import com.sasken.sasken_project.repository.CommentRepository;
+import com.sasken.sasken_project.repository.FeedbackRepository;
+import com.sasken.sasken_project.repository.PostBodyRepository;
+import com.sasken.sasken_project.repository.PostRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Cold tier for archived posts (filled by ArchivalJob). A post moves as a whole: its posts row,
+// body, comments and feedback are replaced by one archived_posts row, so status listings,
+// counts, search and trending stop seeing it. getPostById still finds it, rehydrated from the
+// document; it is read-only there (edits, likes and new comments answer 404), deleting works.
+@Service
+@Transactional(readOnly = true)
+public class ColdStorage {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostBodyRepository postBodyRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ArchivedPostRepository archivedPostRepository;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Moves up to limit ARCHIVED posts last changed before idleBefore, in one transaction;
+    // returns how many moved. The candidates stay locked until commit, a few ms for a batch.
+    @Transactional
+    public int moveIdle(LocalDateTime idleBefore, int limit) {
+        List<Post> posts = postRepository.findIdleForUpdate(PostStatus.ARCHIVED, idleBefore, PageRequest.of(0, limit));
+        if (posts.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = posts.stream().map(Post::getId).collect(Collectors.toList());
+        Map<Long, String> bodies = new HashMap<>();
+        for (PostBody body : postBodyRepository.findByPostIdIn(ids)) {
+            bodies.put(body.getPostId(), body.getContent());
+        }
+        Map<Long, List<ExportedNote>> comments = commentRepository.findByPostIdInOrderByPostIdAscIdAsc(ids).stream()
+                .collect(Collectors.groupingBy(Comment::getPostId,
+                        Collectors.mapping(c -> new ExportedNote(c.getAuthor(), c.getBody(), c.getCreatedAt()), Collectors.toList())));
+        Map<Long, List<ExportedNote>> feedback = feedbackRepository.findByPostIdInOrderByPostIdAscIdAsc(ids).stream()
+                .collect(Collectors.groupingBy(Feedback::getPostId,
+                        Collectors.mapping(f -> new ExportedNote(f.getAuthor(), f.getBody(), f.getCreatedAt()), Collectors.toList())));
+
+        // A post imported again after it was moved has an older copy here; the new one replaces it
+        archivedPostRepository.deleteByPostIdIn(ids);
+        LocalDateTime now = LocalDateTime.now();
+        for (Post post : posts) {
+            ExportedPost document = new ExportedPost(post.getId(), post.getTitle(), bodies.get(post.getId()), post.getAuthor(),
+                    post.getStatus(), likeCounter.currentLikes(post.getId(), post.getLikes()), post.getCreatedAt(),
+                    post.getUpdatedAt(), comments.getOrDefault(post.getId(), List.of()), feedback.getOrDefault(post.getId(), List.of()));
+            entityManager.persist(new ArchivedPost(post.getId(), now, write(document)));
+            entityManager.detach(post);
+        }
+        commentRepository.deleteByPostIdIn(ids);
+        feedbackRepository.deleteByPostIdIn(ids);
+        postBodyRepository.deleteByPostIdIn(ids);
+        postRepository.deleteByIdIn(ids);
+        for (Long id : ids) {
+            likeCounter.forget(id);
+            eventPublisher.publishEvent(PostEvent.movedToColdStorage(id, PostStatus.ARCHIVED));
+        }
+        return ids.size();
+    }
+
+    public Optional<ExportedPost> find(Long id) {
+        return archivedPostRepository.findById(id).map(archived -> read(archived.getDocument()));
+    }
+
+    // Keyset chunk in id order, for the export
+    public List<ExportedPost> findChunk(long afterId, int size) {
+        return archivedPostRepository.findByPostIdGreaterThanOrderByPostIdAsc(afterId, PageRequest.of(0, size)).stream()
+                .map(archived -> read(archived.getDocument()))
+                .collect(Collectors.toList());
+    }
+
+    // Removes whichever of the ids are in cold storage; returns those
+    @Transactional
+    public Set<Long> deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> found = new HashSet<>(archivedPostRepository.findPostIdsIn(ids));
+        if (!found.isEmpty()) {
+            archivedPostRepository.deleteByPostIdIn(found);
+        }
+        return found;
+    }
+
+    // Detached post as it was when moved, with its text
+    public static Post toPost(ExportedPost document) {
+        Post post = new Post(document.getTitle(), document.getContent(), document.getAuthor());
+        post.setId(document.getId());
+        post.setStatus(document.getStatus());
+        post.setLikes(document.getLikes());
+        post.setCreatedAt(document.getCreatedAt());
+        post.setUpdatedAt(document.getUpdatedAt());
+        return post;
+    }
+
+    private String write(ExportedPost document) {
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize post " + document.getId(), e);
+        }
+    }
+
+    private ExportedPost read(String document) {
+        try {
+            return objectMapper.readValue(document, ExportedPost.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable archived post", e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.sasken.sasken_project.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Feedback;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Single writer thread for the append-only comments and feedback tables. Appends that arrive
+// while a batch is executing queue up and are written together as the next JDBC batch.
+@Component
+public class CommentBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentBatchWriter.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${blog.comments.batch-size:200}")
+    private int batchSize;
+
+    @Value("${blog.comments.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${blog.comments.write-timeout-ms:5000}")
+    private long writeTimeoutMs;
+
+    private BlockingQueue<PendingRow> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::runLoop, "comment-batch-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // Stop accepting work and let the writer drain whatever is still queued
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(writeTimeoutMs);
+    }
+
+    public Comment append(Comment comment) {
+        comment.setId(submit("comments", comment.getPostId(), comment.getAuthor(), comment.getBody(), comment.getCreatedAt()));
+        return comment;
+    }
+
+    public Feedback append(Feedback feedback) {
+        feedback.setId(submit("feedback", feedback.getPostId(), feedback.getAuthor(), feedback.getBody(), feedback.getCreatedAt()));
+        return feedback;
+    }
+
+    // Blocks the caller until its row is committed and returns the generated id
+    private Long submit(String table, Long postId, String author, String body, LocalDateTime createdAt) {
+        PendingRow row = new PendingRow(table, postId, author, body, createdAt);
+        if (!running || !queue.offer(row)) {
+            throw new IllegalStateException("Comment writer is not accepting more work");
+        }
+        try {
+            return row.result.get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for comment write", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Comment write failed", e);
+        }
+    }
+
+    private void runLoop() {
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRow first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Comment batch writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingRow> batch) {
+        Map<String, List<PendingRow>> byTable = new LinkedHashMap<>();
+        for (PendingRow row : batch) {
+            byTable.computeIfAbsent(row.table, t -> new ArrayList<>()).add(row);
+        }
+        for (Map.Entry<String, List<PendingRow>> entry : byTable.entrySet()) {
+            List<PendingRow> rows = entry.getValue();
+            try {
+                long[] ids = transactionTemplate.execute(status -> insert(entry.getKey(), rows));
+                for (int i = 0; i < rows.size(); i++) {
+                    rows.get(i).result.complete(ids[i]);
+                }
+            } catch (RuntimeException batchFailure) {
+                // Retry one by one so a single bad row does not fail everyone else in the batch
+                for (PendingRow row : rows) {
+                    try {
+                        long[] ids = transactionTemplate.execute(status -> insert(entry.getKey(), List.of(row)));
+                        row.result.complete(ids[0]);
+                    } catch (RuntimeException e) {
+                        row.result.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+    }
+
+    private long[] insert(String table, List<PendingRow> rows) {
+        String sql = "INSERT INTO " + table + " (post_id, author, body, created_at) VALUES (?, ?, ?, ?)";
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (PendingRow row : rows) {
+                    ps.setLong(1, row.postId);
+                    ps.setString(2, row.author);
+                    ps.setString(3, row.body);
+                    ps.setTimestamp(4, Timestamp.valueOf(row.createdAt));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                long[] ids = new long[rows.size()];
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < ids.length && keys.next(); i++) {
+                        ids[i] = keys.getLong(1);
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static final class PendingRow {
+        final String table;
+        final Long postId;
+        final String author;
+        final String body;
+        final LocalDateTime createdAt;
+        final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        PendingRow(String table, Long postId, String author, String body, LocalDateTime createdAt) {
+            this.table = table;
+            this.postId = postId;
+            this.author = author;
+            this.body = body;
+            this.createdAt = createdAt;
+        }
+    }
+}
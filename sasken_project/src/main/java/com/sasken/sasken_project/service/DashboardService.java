@@ -1,27 +1,36 @@
 package com.sasken.sasken_project.service; // FIXED: Removed backslash
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired; // FIXED: Removed backslash
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service; // FIXED: Correct import for nested enum
 
 import com.sasken.sasken_project.entity.DashboardAnalytics; // FIXED: Removed backslash
 import com.sasken.sasken_project.entity.Post.PostStatus; // FIXED: Removed backslash
 import com.sasken.sasken_project.repository.DashboardRepository;
-import com.sasken.sasken_project.repository.PostRepository;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed(value = "blog.service", histogram = true)
 public class DashboardService {
 
     @Autowired
     private DashboardRepository dashboardRepository;
 
     @Autowired
-    private PostRepository postRepository;
+    private StatusCounters statusCounters;
 
     public DashboardAnalytics getDashboardAnalytics() {
-        // Calculate real-time analytics by counting posts with different statuses
-        Long totalPosts = postRepository.countByStatus(PostStatus.PUBLISHED);
-        Long totalDrafts = postRepository.countByStatus(PostStatus.DRAFT);
-        Long totalReviews = postRepository.countByStatus(PostStatus.REVIEWED);
+        // Real-time analytics straight from the in-memory status counters (no query)
+        long[] counts = statusCounters.snapshot();
+        Long totalPosts = counts[PostStatus.PUBLISHED.ordinal()];
+        Long totalDrafts = counts[PostStatus.DRAFT.ordinal()];
+        Long totalReviews = counts[PostStatus.REVIEWED.ordinal()];
 
         return new DashboardAnalytics(totalPosts, totalDrafts, totalReviews, "Recent activity updated");
     }
@@ -31,9 +40,34 @@ public class DashboardService {
         return dashboardRepository.findTopByOrderByCreatedAtDesc();
     }
 
-    // Optional: Method to save analytics snapshot for historical data
+    // Save an analytics snapshot for historical data on a fixed schedule
+    @Scheduled(initialDelayString = "${blog.analytics.snapshot-interval-ms:3600000}",
+               fixedRateString = "${blog.analytics.snapshot-interval-ms:3600000}")
     public DashboardAnalytics saveAnalyticsSnapshot() {
         DashboardAnalytics currentAnalytics = getDashboardAnalytics();
         return dashboardRepository.save(currentAnalytics);
     }
+
+    // Snapshots between from and to, downsampled to at most maxPoints evenly spaced buckets.
+    // Counters are gauges, so each bucket keeps its latest snapshot.
+    public List<DashboardAnalytics> getAnalyticsHistory(LocalDateTime from, LocalDateTime to, int maxPoints) {
+        List<DashboardAnalytics> snapshots = dashboardRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(from, to);
+        if (snapshots.size() <= maxPoints) {
+            return snapshots;
+        }
+        long rangeMillis = Math.max(1, Duration.between(from, to).toMillis());
+        List<DashboardAnalytics> downsampled = new ArrayList<>(maxPoints);
+        int currentBucket = -1;
+        for (DashboardAnalytics snapshot : snapshots) {
+            long offset = Duration.between(from, snapshot.getCreatedAt()).toMillis();
+            int bucket = (int) Math.min(maxPoints - 1, offset * maxPoints / rangeMillis);
+            if (bucket == currentBucket) {
+                downsampled.set(downsampled.size() - 1, snapshot);
+            } else {
+                downsampled.add(snapshot);
+                currentBucket = bucket;
+            }
+        }
+        return downsampled;
+    }
 }
@@ -0,0 +1,19 @@
+package com.sasken.sasken_project.service;
+
+import java.io.IOException;
+
+import com.sasken.sasken_project.dto.TransferProgress;
+
+// The import stream broke off (client gone, corrupt gzip, ...); carries the report of that
+// import only, batches written before the failure included. Answered with 400 Bad Request.
+public class ImportAbortedException extends IOException {
+
+    private final TransferProgress report;
+
+    public ImportAbortedException(TransferProgress report, IOException cause) {
+        super(cause.getMessage(), cause);
+        this.report = report;
+    }
+
+    public TransferProgress getReport() { return report; }
+}
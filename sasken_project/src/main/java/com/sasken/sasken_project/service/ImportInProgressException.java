@@ -0,0 +1,17 @@
+package com.sasken.sasken_project.service;
+
+import com.sasken.sasken_project.dto.TransferProgress;
+
+// Another import is still running; carries its progress (null if it has not reported any yet).
+// Answered with 409 Conflict.
+public class ImportInProgressException extends RuntimeException {
+
+    private final TransferProgress running;
+
+    public ImportInProgressException(TransferProgress running) {
+        super("An import is already running");
+        this.running = running;
+    }
+
+    public TransferProgress getRunning() { return running; }
+}
@@ -0,0 +1,98 @@
+package com.sasken.sasken_project.service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Comments and feedback used to be @ElementCollection bags on Post, stored in post_comments and
+// post_feedback (post_id plus the text). The schema update leaves those tables in place, so at
+// startup their rows are copied into comments and feedback and removed from the old tables,
+// a batch of posts per transaction: an interrupted run carries on next start. The old rows had
+// no author or time; they get no author and the post's creation time. With Flyway (prod
+// profile) the V4 migration does the same and drops the old tables.
+@Component
+public class LegacyNotesMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyNotesMigrator.class);
+
+    // Old collection table, its text column, new table
+    public static final String[][] TABLES = {
+            { "post_comments", "comments", "comments" },
+            { "post_feedback", "feedback", "feedback" } };
+
+    @Value("${blog.comments.migration-batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Depend on the EntityManagerFactory so Hibernate has created comments and feedback first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (String[] tables : TABLES) {
+            if (!hasTable(jdbcTemplate, tables[0])) {
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            long migrated = 0;
+            Integer moved;
+            while ((moved = transaction.execute(status -> migrateBatch(jdbcTemplate, tables[0], tables[1], tables[2], batchSize))) != null
+                    && moved > 0) {
+                migrated += moved;
+            }
+            if (migrated > 0) {
+                log.info("Moved the {} of {} posts from {} to {} in {} ms",
+                        tables[1], migrated, tables[0], tables[2], System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    // Moves the rows of the next batchSize posts found in the legacy table; returns how many posts
+    // were handled. Rows of posts that no longer exist are dropped.
+    public static int migrateBatch(JdbcTemplate jdbcTemplate, String legacyTable, String textColumn, String table, int batchSize) {
+        List<Long> postIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT post_id FROM " + legacyTable + " ORDER BY post_id LIMIT ?", Long.class, batchSize);
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+        StringBuilder in = new StringBuilder();
+        for (Long id : postIds) {
+            in.append(in.length() == 0 ? "" : ",").append(id);
+        }
+        jdbcTemplate.update("INSERT INTO " + table + " (post_id, author, body, created_at)"
+                + " SELECT l.post_id, NULL, l." + textColumn + ", p.created_at FROM " + legacyTable + " l"
+                + " JOIN posts p ON p.id = l.post_id"
+                + " WHERE l.post_id IN (" + in + ") AND l." + textColumn + " IS NOT NULL ORDER BY l.post_id");
+        jdbcTemplate.update("DELETE FROM " + legacyTable + " WHERE post_id IN (" + in + ")");
+        return postIds.size();
+    }
+
+    public static boolean hasTable(JdbcTemplate jdbcTemplate, String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            try (ResultSet tables = meta.getTables(con.getCatalog(), null, table, null)) {
+                return tables.next();
+            }
+        }));
+    }
+}
@@ -0,0 +1,204 @@
+package com.sasken.sasken_project.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sasken.sasken_project.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Write-behind like counter: likes are absorbed in memory per post and the accumulated deltas
+// are flushed as one batch of "likes = likes + ?" updates every blog.likes.flush-interval-ms.
+// This class is the only writer of posts.likes (the column is not updatable through JPA).
+// A post's slot is dropped once a flush finds it idle, so the map only holds posts liked lately
+// and the next like reads the persisted count again (picking up what another instance wrote).
+@Component
+public class LikeCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeCounter.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    // Held for writing while a flush moves likes into the database, for reading while
+    // withUnflushedLikes copies the pending ones
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    // Bumped by each flush before its batch is written, so a reader can tell whether a flush
+    // may have committed while it was querying
+    private final AtomicLong flushes = new AtomicLong();
+
+    private static final int UNFLUSHED_READ_ATTEMPTS = 3;
+
+    // Adds one like and returns the new total, or -1 when the post does not exist
+    public long increment(Long postId) {
+        while (true) {
+            Slot slot = slots.get(postId);
+            if (slot == null) {
+                // First like for this post lately: read the persisted count
+                Integer persisted = postRepository.findLikesById(postId);
+                if (persisted == null) {
+                    return -1;
+                }
+                slot = slots.computeIfAbsent(postId, id -> new Slot(persisted));
+            }
+            slot.pending.increment();
+            if (!slot.retired) {
+                return slot.total();
+            }
+            // The flush is dropping this slot: take the like back and count it on a fresh one
+            slot.pending.decrement();
+            Thread.onSpinWait();
+        }
+    }
+
+    // Merges pending likes into a count read from the database
+    public int currentLikes(Long postId, int persistedLikes) {
+        Slot slot = slots.get(postId);
+        return slot == null ? persistedLikes : (int) slot.total();
+    }
+
+    // Hands reader a copy of the likes not flushed yet, per post, taken while no flush was
+    // running: every other like is committed by then, so a database count plus these is what
+    // currentLikes reports. The reader runs without the lock (it may query the database) and is
+    // run again if a flush started meanwhile, as its count could then include the copied likes.
+    public <T> T withUnflushedLikes(Function<Map<Long, Long>, T> reader) {
+        T result = null;
+        for (int attempt = 0; attempt < UNFLUSHED_READ_ATTEMPTS; attempt++) {
+            long flushesBefore;
+            Map<Long, Long> unflushed = new HashMap<>();
+            flushLock.readLock().lock();
+            try {
+                flushesBefore = flushes.get();
+                slots.forEach((id, slot) -> {
+                    long pending = slot.pending.sum();
+                    if (pending != 0) {
+                        unflushed.put(id, pending);
+                    }
+                });
+            } finally {
+                flushLock.readLock().unlock();
+            }
+            result = reader.apply(unflushed);
+            if (flushes.get() == flushesBefore) {
+                return result;
+            }
+        }
+        // Flushing back to back: a count that is briefly high is still a fresh validator
+        return result;
+    }
+
+    // Called when a post is deleted so its slot does not linger
+    public void forget(Long postId) {
+        slots.remove(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.likes.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            List<Long> deltas = new ArrayList<>();
+            List<Slot> touched = new ArrayList<>();
+            for (Map.Entry<Long, Slot> entry : slots.entrySet()) {
+                Slot slot = entry.getValue();
+                long delta = slot.pending.sum();
+                if (delta == 0) {
+                    retireIfIdle(entry.getKey(), slot);
+                } else {
+                    // Add to the persisted side before taking it off the pending one: a read in
+                    // between may count the delta twice for a moment, but never misses it
+                    slot.persisted.addAndGet(delta);
+                    slot.pending.add(-delta);
+                    ids.add(entry.getKey());
+                    deltas.add(delta);
+                    touched.add(slot);
+                }
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            flushes.incrementAndGet();
+
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                args.add(new Object[] { deltas.get(i), ids.get(i) });
+            }
+            // Lock rows in id order so concurrent writers cannot deadlock against the flush
+            args.sort((a, b) -> Long.compare((Long) a[1], (Long) b[1]));
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate("UPDATE posts SET likes = likes + ? WHERE id = ?", args));
+            } catch (RuntimeException e) {
+                // Put the deltas back so the next flush retries them, pending side first again
+                for (int i = 0; i < touched.size(); i++) {
+                    touched.get(i).pending.add(deltas.get(i));
+                    touched.get(i).persisted.addAndGet(-deltas.get(i));
+                }
+                log.warn("Like flush of {} posts failed, will retry", ids.size(), e);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    // Nothing was liked since the last flush, so everything in the slot is committed. Retiring is
+    // checked against pending the other way round from increment(): either the increment sees the
+    // flag and moves to a fresh slot, or this sees the like and keeps the slot.
+    private void retireIfIdle(Long postId, Slot slot) {
+        slot.retired = true;
+        if (slot.pending.sum() == 0) {
+            slots.remove(postId, slot);
+        } else {
+            slot.retired = false;
+        }
+    }
+
+    // Drain pending likes before the datasource goes away
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+
+    private static final class Slot {
+        final AtomicLong persisted;
+        final LongAdder pending = new LongAdder();
+        // Set by the flush while it drops the slot; increments seeing it go to a fresh slot
+        volatile boolean retired;
+
+        Slot(long persisted) {
+            this.persisted = new AtomicLong(persisted);
+        }
+
+        // Pending is read first: a flush moving likes across in between shows up on the
+        // persisted side by the time it is read
+        long total() {
+            long notFlushed = pending.sum();
+            return persisted.get() + notFlushed;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.sasken.sasken_project.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Server-Sent Events fan-out of committed PostEvents for the dashboard and review pages.
+//
+// - Every event gets an increasing id and is kept in a ring of the last replay-size events, so a
+//   browser that reconnects with Last-Event-ID gets what it missed. If the gap is no longer in the
+//   ring it gets a "reset" event and reloads instead.
+// - Each subscriber has a bounded buffer keyed by what the event is about (the post, its likes,
+//   its comments, the counters): a burst of likes on one post is sent as its latest count only.
+//   A subscriber that falls more than max-pending keys behind is sent "reset".
+// - Buffers are flushed every flush-interval on virtual threads, one send at a time per
+//   subscriber, so a slow client never holds up the others or the request that caused the event.
+// - "counters" carries the in-memory StatusCounters, computed when it is sent; nothing here
+//   touches the database.
+// - Likes are the hot path (no transaction, one per request): a like only records its post's
+//   latest count in a concurrent map, and flush() turns those into events, so a like never
+//   serializes JSON or waits for the publish monitor.
+@Component
+public class LiveUpdates {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdates.class);
+
+    private static final String COUNTERS = "counters";
+    private static final String RESET = "reset";
+
+    @Value("${blog.live.replay-size:1024}")
+    private int replaySize;
+
+    @Value("${blog.live.max-pending:256}")
+    private int maxPending;
+
+    @Value("${blog.live.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${blog.live.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Autowired
+    private StatusCounters statusCounters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Latest like count per post not yet published
+    private final Map<Long, Long> likedSinceFlush = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Ring of recent events, guarded by "this" together with lastId and subscriber registration
+    private LiveEvent[] ring;
+    private long firstId;
+    private long lastId;
+
+    @PostConstruct
+    void init() {
+        ring = new LiveEvent[replaySize];
+        // Ids start from the clock so ids remembered by browsers from before a restart fall outside the ring
+        lastId = System.currentTimeMillis() * 1000;
+        firstId = lastId + 1;
+        Gauge.builder("blog.live.subscribers", subscribers, Set::size)
+                .description("Open Server-Sent Events connections")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    // lastEventId: the Last-Event-ID header of a reconnecting EventSource, or null
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscriber.offer(countersEvent(), maxPending, lastId);
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        if (event.getType() == PostEvent.Type.LIKED) {
+            likedSinceFlush.merge(event.getPostId(), event.getLikes(), Math::max);
+            return;
+        }
+        String name;
+        String key;
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("id", event.getPostId());
+        switch (event.getType()) {
+            case CREATED, UPDATED, STATUS_CHANGED -> {
+                Post post = event.getPost();
+                name = switch (event.getType()) {
+                    case CREATED -> "post-created";
+                    case UPDATED -> "post-updated";
+                    default -> "post-status";
+                };
+                key = "post:" + event.getPostId();
+                data.put("title", post.getTitle());
+                data.put("author", post.getAuthor());
+                data.put("status", post.getStatus());
+                data.put("previousStatus", event.getPreviousStatus());
+            }
+            case DELETED -> {
+                name = "post-deleted";
+                key = "post:" + event.getPostId();
+                data.put("previousStatus", event.getPreviousStatus());
+            }
+            case COMMENTED -> {
+                name = "post-commented";
+                key = "commented:" + event.getPostId();
+                data.put("commentId", event.getComment().getId());
+                data.put("author", event.getComment().getAuthor());
+            }
+            default -> {
+                return;
+            }
+        }
+        boolean countersChanged = event.getType() == PostEvent.Type.CREATED
+                || event.getType() == PostEvent.Type.DELETED
+                || (event.getType() == PostEvent.Type.STATUS_CHANGED && event.getPreviousStatus() != event.getPost().getStatus());
+        publish(name, key, toJson(data), countersChanged);
+    }
+
+    // Recorded even with nobody listening, so a browser reconnecting right now can catch up
+    private synchronized void publish(String name, String key, String json, boolean countersChanged) {
+        LiveEvent event = append(name, key, json);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event, maxPending, lastId);
+            if (countersChanged) {
+                subscriber.offer(countersEvent(), maxPending, lastId);
+            }
+        }
+    }
+
+    private void publishLikes() {
+        for (Long postId : likedSinceFlush.keySet()) {
+            // A like landing after the remove stays for the next flush
+            Long likes = likedSinceFlush.remove(postId);
+            if (likes != null) {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("id", postId);
+                data.put("likes", likes);
+                publish("post-liked", "liked:" + postId, toJson(data), false);
+            }
+        }
+    }
+
+    private static LiveEvent countersEvent() {
+        return new LiveEvent(0, COUNTERS, COUNTERS, null);
+    }
+
+    private LiveEvent append(String name, String key, String json) {
+        LiveEvent event = new LiveEvent(++lastId, name, key, json);
+        ring[(int) (event.id % ring.length)] = event;
+        return event;
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        if (lastEventId == lastId) {
+            return;
+        }
+        long oldest = Math.max(firstId, lastId - ring.length + 1);
+        if (lastEventId + 1 < oldest || lastEventId > lastId) {
+            // Missed more than we kept, or the id is from another run: start over
+            subscriber.offer(resetEvent(lastId), maxPending, lastId);
+            return;
+        }
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            subscriber.offer(ring[(int) (id % ring.length)], maxPending, lastId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.live.flush-interval-ms:250}")
+    public void flush() {
+        publishLikes();
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.hasPending() || now - subscriber.lastSentNanos >= TimeUnit.MILLISECONDS.toNanos(heartbeatMs)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> send(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.sending.set(false);
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            List<LiveEvent> batch = subscriber.drain();
+            if (batch.isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+            }
+            for (LiveEvent event : batch) {
+                SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name);
+                if (event.name.equals(COUNTERS)) {
+                    builder.data(countersJson(), MediaType.APPLICATION_JSON);
+                } else if (event.id <= 0) {
+                    builder.data(event.json, MediaType.APPLICATION_JSON);
+                } else {
+                    builder.id(Long.toString(event.id)).data(event.json, MediaType.APPLICATION_JSON);
+                }
+                subscriber.emitter.send(builder);
+            }
+            subscriber.lastSentNanos = System.nanoTime();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away. The container has seen the failed write too and completes the
+            // emitter itself (ApiExceptionHandler takes the dispatch that follows); calling
+            // completeWithError here as well races it and fails on the sender thread.
+            log.debug("Dropping live subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private String countersJson() {
+        long[] counts = statusCounters.snapshot();
+        Map<String, Object> data = new LinkedHashMap<>();
+        // Same names as /api/dashboard/analytics
+        data.put("totalPosts", counts[PostStatus.PUBLISHED.ordinal()]);
+        data.put("totalDrafts", counts[PostStatus.DRAFT.ordinal()]);
+        data.put("totalReviews", counts[PostStatus.REVIEWED.ordinal()]);
+        return toJson(data);
+    }
+
+    private String toJson(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Tells the client to reload; carries the newest id so it resumes from there afterwards
+    private static LiveEvent resetEvent(long currentId) {
+        return new LiveEvent(currentId, RESET, RESET, "{}");
+    }
+
+    private static final class LiveEvent {
+        final long id;
+        final String name;
+        final String key;
+        final String json;
+
+        LiveEvent(long id, String name, String key, String json) {
+            this.id = id;
+            this.name = name;
+            this.key = key;
+            this.json = json;
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean();
+        // Latest event per key, oldest key first; guarded by itself
+        final LinkedHashMap<String, LiveEvent> pending = new LinkedHashMap<>();
+        volatile long lastSentNanos = System.nanoTime();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(LiveEvent event, int maxPending, long currentId) {
+            synchronized (pending) {
+                // Re-inserting moves the key to the end so ids still go out in increasing order
+                if (pending.remove(event.key) == null && pending.size() >= maxPending) {
+                    pending.clear();
+                    pending.put(RESET, resetEvent(currentId));
+                }
+                pending.put(event.key, event);
+            }
+        }
+
+        boolean hasPending() {
+            synchronized (pending) {
+                return !pending.isEmpty();
+            }
+        }
+
+        List<LiveEvent> drain() {
+            synchronized (pending) {
+                List<LiveEvent> batch = new ArrayList<>(pending.values());
+                pending.clear();
+                return batch;
+            }
+        }
+    }
+}
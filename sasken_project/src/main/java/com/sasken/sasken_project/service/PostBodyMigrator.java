@@ -0,0 +1,114 @@
+package com.sasken.sasken_project.service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sasken.sasken_project.entity.CompressedTextConverter;
+import com.sasken.sasken_project.entity.Post;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Post text used to be a TEXT column on the posts row. The schema update leaves that column in
+// place, so at startup (before requests are accepted) every post still carrying text there gets
+// its post_bodies row, excerpt and word count, and the old column is cleared so the row is
+// narrow again. Batches commit one by one: an interrupted run simply carries on next start.
+// With Flyway (prod profile) the V2 migration does the same and drops the column, so this
+// finds nothing to do.
+@Component
+public class PostBodyMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PostBodyMigrator.class);
+
+    @Value("${blog.bodies.migration-batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Depend on the EntityManagerFactory so Hibernate has created post_bodies first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        if (!hasLegacyContentColumn(jdbcTemplate)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long migrated = 0;
+        Integer moved;
+        while ((moved = transaction.execute(status -> migrateBatch(jdbcTemplate, batchSize))) != null && moved > 0) {
+            migrated += moved;
+        }
+        if (migrated > 0) {
+            log.info("Moved the text of {} posts to post_bodies in {} ms", migrated, System.currentTimeMillis() - start);
+        }
+    }
+
+    // Moves the next batchSize posts still carrying legacy text; returns how many were handled
+    public static int migrateBatch(JdbcTemplate jdbcTemplate, int batchSize) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, content FROM posts WHERE content IS NOT NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2) }, batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        StringBuilder in = new StringBuilder();
+        for (Object[] row : rows) {
+            in.append(in.length() == 0 ? "" : ",").append((Long) row[0]);
+        }
+        // A body written by the new code since the upgrade is newer than the legacy text
+        Set<Long> hasBody = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT post_id FROM post_bodies WHERE post_id IN (" + in + ")", Long.class));
+
+        List<Object[]> bodies = new ArrayList<>();
+        List<Object[]> posts = new ArrayList<>();
+        List<Object[]> cleared = new ArrayList<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String content = (String) row[1];
+            if (hasBody.contains(id)) {
+                cleared.add(new Object[] { id });
+            } else {
+                bodies.add(new Object[] { id, CompressedTextConverter.encode(content) });
+                posts.add(new Object[] { Post.excerptOf(content), Post.countWords(content), id });
+            }
+        }
+        if (!bodies.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO post_bodies (post_id, content) VALUES (?, ?)", bodies);
+            jdbcTemplate.batchUpdate("UPDATE posts SET excerpt = ?, word_count = ?, content = NULL WHERE id = ?", posts);
+        }
+        if (!cleared.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE posts SET content = NULL WHERE id = ?", cleared);
+        }
+        return rows.size();
+    }
+
+    public static boolean hasLegacyContentColumn(JdbcTemplate jdbcTemplate) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            try (ResultSet columns = meta.getColumns(con.getCatalog(), null, "posts", "content")) {
+                return columns.next();
+            }
+        }));
+    }
+}
@@ -0,0 +1,157 @@
+package com.sasken.sasken_project.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sasken.sasken_project.dto.CacheStats;
+import com.sasken.sasken_project.entity.Post;
+
+// Bounded LRU read-through cache for single posts, limited by entry count and by estimated
+// bytes. Concurrent misses for the same id share one load (single flight). Entries are
+// evicted after every committed change to the post; likes are not cached state, they are
+// merged from LikeCounter on every read.
+@Component
+public class PostCache {
+
+    @Value("${blog.cache.posts.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${blog.cache.posts.max-bytes:67108864}")
+    private long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+
+    private final Map<Long, CompletableFuture<Optional<Post>>> inflight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Returns a private copy of the post, loading it through loader on a miss
+    public Optional<Post> get(Long id, Function<Long, Optional<Post>> loader) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                hits.increment();
+                return Optional.of(entry.post.copy());
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+
+        CompletableFuture<Optional<Post>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Post>> leader = inflight.putIfAbsent(id, mine);
+        if (leader != null) {
+            try {
+                return leader.join().map(Post::copy);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        try {
+            loads.increment();
+            Optional<Post> loaded = loader.apply(id).map(Post::copy);
+            // Only cache if nobody invalidated this id while we were loading
+            if (inflight.remove(id, mine) && loaded.isPresent()) {
+                put(id, loaded.get());
+            }
+            mine.complete(loaded);
+            return loaded.map(Post::copy);
+        } catch (RuntimeException e) {
+            inflight.remove(id, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(Long id) {
+        inflight.remove(id);
+        lock.lock();
+        try {
+            Entry removed = entries.remove(id);
+            if (removed != null) {
+                bytes -= removed.size;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        switch (event.getType()) {
+            case UPDATED, STATUS_CHANGED, DELETED, MOVED_TO_COLD_STORAGE -> invalidate(event.getPostId());
+            // New posts are not cached yet; likes and comments are not part of the cached copy
+            default -> { }
+        }
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits.sum(), misses.sum(), loads.sum(), evictions.sum(), entries.size(), bytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(Long id, Post post) {
+        long size = estimateSize(post);
+        if (size > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.put(id, new Entry(post, size));
+            bytes += size - (previous == null ? 0 : previous.size);
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+                Entry evicted = eldest.next().getValue();
+                eldest.remove();
+                bytes -= evicted.size;
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rough heap footprint: object headers and fields plus two bytes per char of text
+    private static long estimateSize(Post post) {
+        return 160 + 2L * (length(post.getTitle()) + length(post.getContent()) + length(post.getAuthor()));
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    private static final class Entry {
+        final Post post;
+        final long size;
+
+        Entry(Post post, long size) {
+            this.post = post;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.sasken.sasken_project.service;
+
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+
+// Published by PostService for every change to a post (and by ColdStorage when it moves one out). Listeners that keep derived state
+// (search index, counters, caches) should use @TransactionalEventListener so they only see
+// changes that actually committed.
+public class PostEvent {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED,
+        // Moved out of the hot tables into cold storage: still readable by id, gone from
+        // listings, counts, search and trending
+        MOVED_TO_COLD_STORAGE,
+        // Activity on a post that leaves the post row itself unchanged
+        LIKED, COMMENTED
+    }
+
+    private final Type type;
+    private final Long postId;
+    private final Post post;
+    private final PostStatus previousStatus;
+    private final long likes;
+    private final Comment comment;
+
+    private PostEvent(Type type, Long postId, Post post, PostStatus previousStatus, long likes, Comment comment) {
+        this.type = type;
+        this.postId = postId;
+        this.post = post;
+        this.previousStatus = previousStatus;
+        this.likes = likes;
+        this.comment = comment;
+    }
+
+    private PostEvent(Type type, Long postId, Post post, PostStatus previousStatus) {
+        this(type, postId, post, previousStatus, 0, null);
+    }
+
+    public static PostEvent created(Post post) {
+        return new PostEvent(Type.CREATED, post.getId(), post, null);
+    }
+
+    public static PostEvent updated(Post post) {
+        return new PostEvent(Type.UPDATED, post.getId(), post, post.getStatus());
+    }
+
+    public static PostEvent statusChanged(Post post, PostStatus previousStatus) {
+        return new PostEvent(Type.STATUS_CHANGED, post.getId(), post, previousStatus);
+    }
+
+    public static PostEvent deleted(Long postId, PostStatus previousStatus) {
+        return new PostEvent(Type.DELETED, postId, null, previousStatus);
+    }
+
+    public static PostEvent movedToColdStorage(Long postId, PostStatus previousStatus) {
+        return new PostEvent(Type.MOVED_TO_COLD_STORAGE, postId, null, previousStatus);
+    }
+
+    public static PostEvent liked(Long postId, long likes) {
+        return new PostEvent(Type.LIKED, postId, null, null, likes, null);
+    }
+
+    public static PostEvent commented(Comment comment) {
+        return new PostEvent(Type.COMMENTED, comment.getPostId(), null, null, 0, comment);
+    }
+
+    public Type getType() { return type; }
+    public Long getPostId() { return postId; }
+
+    // The post after the change; null for DELETED, MOVED_TO_COLD_STORAGE, LIKED and COMMENTED.
+    // Treat as read-only.
+    public Post getPost() { return post; }
+
+    // Status before the change; null for CREATED and for a post deleted from cold storage
+    public PostStatus getPreviousStatus() { return previousStatus; }
+
+    // Like count after the click, for LIKED
+    public long getLikes() { return likes; }
+
+    // The stored comment, for COMMENTED
+    public Comment getComment() { return comment; }
+
+    @Override
+    public String toString() {
+        return "PostEvent{" +
+                "type=" + type +
+                ", postId=" + postId +
+                ", previousStatus=" + previousStatus +
+                '}';
+    }
+}
@@ -0,0 +1,99 @@
+package com.sasken.sasken_project.service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.sasken.sasken_project.entity.Post;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Posts created before the switch from IDENTITY to the pooled posts_seq generator already use
+// ids the new table-backed sequence would hand out again. Moving the sequence past MAX(id) at
+// startup (before the web server accepts requests) and after imports keeps ids unique.
+@Component
+public class PostIdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostIdSequenceAligner.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Depend on the EntityManagerFactory so Hibernate has created posts_seq first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void align() {
+        // A fetched value hands out up to ID_ALLOCATION_SIZE ids around it, so keep a full block of headroom
+        int headroom = Post.ID_ALLOCATION_SIZE + 1;
+        if (!hasSequenceTable()) {
+            alignNativeSequence(headroom);
+            return;
+        }
+        int updated = jdbcTemplate.update(
+                "UPDATE posts_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + ? FROM posts) "
+                        + "WHERE next_val < (SELECT COALESCE(MAX(id), 0) + ? FROM posts)",
+                headroom, headroom);
+        if (updated > 0) {
+            log.info("Moved posts_seq past the highest existing post id");
+        }
+    }
+
+    // Hibernate hands out the rest of an already fetched block from memory, so a realigned sequence
+    // only takes effect at the next fetch. Draws (and discards) ids until they are past the given
+    // one, which costs at most one block.
+    public void skipPast(long id) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Generator generator = sessionFactory.getMappingMetamodel().getEntityDescriptor(Post.class).getGenerator();
+        if (!(generator instanceof IdentifierGenerator ids)) {
+            return;
+        }
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (int i = 0; i <= 2 * Post.ID_ALLOCATION_SIZE; i++) {
+                Object next = ids.generate((SharedSessionContractImplementor) session, null);
+                if (((Number) next).longValue() > id) {
+                    return;
+                }
+            }
+        }
+        log.warn("Post id generator is still at or below imported id {}", id);
+    }
+
+    // Native sequences (H2) only fall behind when rows are inserted with explicit ids, as the
+    // NDJSON import does; on a fresh schema MAX(id) is below the sequence and nothing happens
+    private void alignNativeSequence(int headroom) {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM posts", Long.class);
+            Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR posts_seq", Long.class);
+            if (maxId != null && next != null && next <= maxId + headroom) {
+                jdbcTemplate.execute("ALTER SEQUENCE posts_seq RESTART WITH " + (maxId + headroom + 1));
+                log.info("Moved posts_seq past the highest existing post id");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not align posts_seq with the posts table: {}", e.getMessage());
+        }
+    }
+
+    private boolean hasSequenceTable() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            try (ResultSet tables = meta.getTables(con.getCatalog(), null, "posts_seq", new String[] { "TABLE" })) {
+                return tables.next();
+            }
+        }));
+    }
+}
@@ -1,48 +1,252 @@
 package com.sasken.sasken_project.service;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sasken.sasken_project.config.ReplicaRoutingDataSource;
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.dto.BulkItemResult.Outcome;
+import com.sasken.sasken_project.dto.CursorPage;
+import com.sasken.sasken_project.dto.ExportedNote;
+import com.sasken.sasken_project.dto.ExportedPost;
+import com.sasken.sasken_project.dto.LikeCount;
+import com.sasken.sasken_project.dto.PostCursor;
+import com.sasken.sasken_project.dto.PostPatch;
+import com.sasken.sasken_project.dto.PostSummary;
+import com.sasken.sasken_project.dto.ResourceVersion;
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Feedback;
 import com.sasken.sasken_project.entity.Post;
 import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.entity.PostBody;
+import com.sasken.sasken_project.repository.CommentRepository;
+import com.sasken.sasken_project.repository.FeedbackRepository;
+import com.sasken.sasken_project.repository.PostBodyRepository;
 import com.sasken.sasken_project.repository.PostRepository;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
+@Timed(value = "blog.service", histogram = true) // one timer per public method, see MetricsConfig
 @Transactional(readOnly = true) // Default to read-only transactions for performance
 public class PostService {
 
     @Autowired
     private PostRepository postRepository;
 
-    // Get all published posts
-    public List<Post> getAllPosts() {
-        return postRepository.findAllPublished();
+    @Autowired
+    private PostBodyRepository postBodyRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private CommentBatchWriter commentBatchWriter;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private ColdStorage coldStorage;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${blog.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${blog.pagination.max-size:100}")
+    private int maxPageSize;
+
+    // Hands every post with the given status to the consumer (published newest first, drafts and
+    // the review queue most recently updated first; excerpt only, no body), without ever holding
+    // the whole listing: rows are fetched in chunks and each entity is detached once consumed.
+    // The transaction (and its connection) stays open until the last post has been consumed, so
+    // the consumer should only serialize.
+    public long forEachPost(PostStatus status, Consumer<Post> consumer) {
+        long count = 0;
+        try (Stream<Post> posts = switch (status) {
+            case PUBLISHED -> postRepository.streamAllPublished();
+            case DRAFT -> postRepository.streamAllDrafts();
+            case REVIEWED -> postRepository.streamAllReviewed();
+            default -> Stream.empty();
+        }) {
+            for (Post post : (Iterable<Post>) posts::iterator) {
+                post.setLikes(likeCounter.currentLikes(post.getId(), post.getLikes()));
+                consumer.accept(post);
+                entityManager.detach(post);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Cheap validator for the ETag/Last-Modified of a full status listing. The listing shows
+    // likes merged with the unflushed ones, so those are added to the database sum here too:
+    // otherwise a like would be answered with 304 until the next flush. Both queries run after
+    // the pending likes are copied, so a flush is never held up by them.
+    public ResourceVersion getListVersion(PostStatus status) {
+        return likeCounter.withUnflushedLikes(unflushed -> {
+            ResourceVersion version = postRepository.findListVersion(status);
+            long pending = 0;
+            if (!unflushed.isEmpty()) {
+                for (Object[] row : postRepository.findStatusesByIds(unflushed.keySet())) {
+                    if (row[1] == status) {
+                        pending += unflushed.get((Long) row[0]);
+                    }
+                }
+            }
+            return pending == 0 ? version : new ResourceVersion(version.getLastModified(), version.getCount(),
+                    version.getLikes() + pending, version.getVersion());
+        });
+    }
+
+    // Summary pages for the list screens (keyset pagination, no bodies or collections)
+    public CursorPage<PostSummary> getPublishedSummaries(String cursor, Integer size) {
+        return summaryPage(PostStatus.PUBLISHED, true, cursor, size);
     }
 
-    // Get all draft posts
-    public List<Post> getAllDrafts() {
-        return postRepository.findAllDrafts();
+    public CursorPage<PostSummary> getDraftSummaries(String cursor, Integer size) {
+        return summaryPage(PostStatus.DRAFT, false, cursor, size);
     }
 
-    // Get all posts under review
-    public List<Post> getAllForReview() {
-        return postRepository.findAllReviewed();
+    public CursorPage<PostSummary> getReviewSummaries(String cursor, Integer size) {
+        return summaryPage(PostStatus.REVIEWED, false, cursor, size);
     }
 
-    // Get a specific post by ID
+    // Author feeds, newest first (drafts too, by creation: one index serves both)
+    public CursorPage<PostSummary> getAuthorPublishedSummaries(String author, String cursor, Integer size) {
+        return authorPage(author, PostStatus.PUBLISHED, cursor, size);
+    }
+
+    public CursorPage<PostSummary> getAuthorDraftSummaries(String author, String cursor, Integer size) {
+        return authorPage(author, PostStatus.DRAFT, cursor, size);
+    }
+
+    // Published posts are ordered by createdAt, drafts and reviews by updatedAt (same as the full lists)
+    private CursorPage<PostSummary> summaryPage(PostStatus status, boolean byCreatedAt, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // Fetch one extra row to find out whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        PostCursor position = cursor == null || cursor.isBlank() ? PostCursor.TOP : PostCursor.decode(cursor);
+        List<PostSummary> rows = byCreatedAt
+                ? postRepository.findSummariesByCreatedAtBefore(status, position.getTimestamp(), position.getId(), limit)
+                : postRepository.findSummariesByUpdatedAtBefore(status, position.getTimestamp(), position.getId(), limit);
+        return toPage(rows, pageSize, byCreatedAt);
+    }
+
+    private CursorPage<PostSummary> authorPage(String author, PostStatus status, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<PostSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = postRepository.findAuthorSummaries(author, status, limit);
+        } else {
+            PostCursor position = PostCursor.decode(cursor);
+            rows = postRepository.findAuthorSummariesBefore(author, status, position.getTimestamp(), position.getId(), limit);
+        }
+        return toPage(rows, pageSize, true);
+    }
+
+    // rows holds up to pageSize + 1 summaries; the extra one only signals a next page.
+    // Likes not flushed yet are merged in, as for a single post.
+    private CursorPage<PostSummary> toPage(List<PostSummary> rows, int pageSize, boolean byCreatedAt) {
+        List<PostSummary> page = rows.subList(0, Math.min(rows.size(), pageSize)).stream()
+                .map(row -> row.withLikes(likeCounter.currentLikes(row.getId(), row.getLikes())))
+                .collect(Collectors.toList());
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(page, null);
+        }
+        PostSummary last = page.get(pageSize - 1);
+        String next = new PostCursor(byCreatedAt ? last.getCreatedAt() : last.getUpdatedAt(), last.getId()).encode();
+        return new CursorPage<>(page, next);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Get a specific post by ID, with its full content
+    // Served from PostCache; SUPPORTS so a cache hit does not borrow a connection. Misses read
+    // the primary: a copy cached from a lagging replica would outlive the lag.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Post> getPostById(Long id) {
-        return postRepository.findById(id);
+        Optional<Post> post = postCache.get(id, missed -> ReplicaRoutingDataSource.onPrimary(() -> loadWithContent(missed)));
+        // The cache hands out copies, so merging the pending likes is safe
+        post.ifPresent(p -> p.setLikes(likeCounter.currentLikes(id, p.getLikes())));
+        return post;
+    }
+
+    private Optional<Post> loadWithContent(Long id) {
+        List<Object[]> rows = postRepository.findWithContentById(id);
+        if (rows.isEmpty()) {
+            // Not in the hot tables: it may have been moved to cold storage
+            return coldStorage.find(id).map(ColdStorage::toPost);
+        }
+        Post post = (Post) rows.get(0)[0];
+        // Detached, so a later conditional UPDATE in the same transaction is never followed by a
+        // flush of this (now stale) instance, and a re-read sees the new row
+        entityManager.detach(post);
+        post.setContent((String) rows.get(0)[1]);
+        return Optional.of(post);
     }
 
     // Create a new post (starts as draft)
     @Transactional // Write transaction needed
     public Post createPost(Post post) {
         post.setStatus(PostStatus.DRAFT); // New posts start as drafts
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        entityManager.persist(new PostBody(saved.getId(), saved.getContent()));
+        eventPublisher.publishEvent(PostEvent.created(saved));
+        return saved;
     }
 
     // Update an existing post
@@ -55,88 +259,392 @@ public class PostService {
             post.setContent(updatedPost.getContent());
             post.setAuthor(updatedPost.getAuthor());
             // Note: Status is not updated here - use specific methods for status changes
-            return postRepository.save(post);
+            Post saved = postRepository.save(post);
+            saveBody(id, updatedPost.getContent());
+            eventPublisher.publishEvent(PostEvent.updated(saved));
+            return saved;
         }
         return null; // Post not found
     }
 
+    // Partial update for PATCH: only the fields present in the patch are touched, and Post is
+    // mapped with @DynamicUpdate, so the UPDATE names just the changed columns (plus updated_at and
+    // version); post_bodies is written only if the text changed, and nothing at all if the patch
+    // changes nothing. expectedVersion is the version the client edited (null for any, If-Match: *):
+    // a mismatch, or another edit committing first (checked again by the versioned UPDATE), ends
+    // in an OptimisticLockingFailureException. The returned post is detached and carries the
+    // pending likes, like getPostById. Returns null if the post does not exist;
+    // IllegalArgumentException if a content delta does not fit the current text.
+    @Transactional
+    public Post patchPost(Long id, PostPatch patch, Long expectedVersion) {
+        Post post = postRepository.findById(id).orElse(null);
+        if (post == null) {
+            return null;
+        }
+        long versionBefore = post.getVersion();
+        if (expectedVersion != null && versionBefore != expectedVersion) {
+            throw new ObjectOptimisticLockingFailureException(Post.class, id);
+        }
+        PostBody body = entityManager.find(PostBody.class, id);
+        String current = body != null ? body.getContent() : null;
+        // Listeners (search index, live updates) expect the full post, so the text is always set;
+        // the derived columns come out equal when it did not change and stay clean
+        post.setContent(patch.isContentSet() ? patch.applyContent(current) : current);
+        if (patch.isTitleSet()) {
+            post.setTitle(patch.getTitle());
+        }
+        if (patch.isAuthorSet()) {
+            post.setAuthor(patch.getAuthor());
+        }
+        if (patch.isContentSet() && !Objects.equals(current, post.getContent())) {
+            saveBody(id, post.getContent());
+            // An edit past the excerpt may leave the posts row as it was; the version must move anyway
+            post.setUpdatedAt(LocalDateTime.now());
+        }
+        // Flush now so the version and updated_at in the answer are the committed ones
+        entityManager.flush();
+        // Detached before the like merge: the total is for the answer only, never a change to the row
+        entityManager.detach(post);
+        post.setLikes(likeCounter.currentLikes(id, post.getLikes()));
+        if (post.getVersion() != versionBefore) {
+            eventPublisher.publishEvent(PostEvent.updated(post));
+        }
+        return post;
+    }
+
+    // The excerpt and word count on the posts row were already derived by Post.setContent
+    private void saveBody(Long postId, String content) {
+        PostBody body = entityManager.find(PostBody.class, postId);
+        if (body == null) {
+            entityManager.persist(new PostBody(postId, content));
+        } else {
+            body.setContent(content);
+        }
+    }
+
     // Publish a post (change status from DRAFT/REVIEWED to PUBLISHED)
     @Transactional
     public Post publishPost(Long id) {
-        Optional<Post> post = postRepository.findById(id);
-        if (post.isPresent()) {
-            Post p = post.get();
-            p.setStatus(PostStatus.PUBLISHED);
-            return postRepository.save(p);
-        }
-        return null;
+        return changeStatus(id, PostStatus.PUBLISHED);
     }
 
-    // Submit post for review (change status to REVIEWED)
+    // Submit post for review (change status from DRAFT to REVIEWED)
     @Transactional
     public Post submitForReview(Long id) {
-        Optional<Post> post = postRepository.findById(id);
-        if (post.isPresent()) {
-            Post p = post.get();
-            p.setStatus(PostStatus.REVIEWED);
-            return postRepository.save(p);
+        return changeStatus(id, PostStatus.REVIEWED);
+    }
+
+    // Archive a published post
+    @Transactional
+    public Post archivePost(Long id) {
+        return changeStatus(id, PostStatus.ARCHIVED);
+    }
+
+    // The decision is made on the cached copy (usually no query at all), then applied with one
+    // conditional UPDATE guarded by status and version. If another change got in between, the
+    // copy is dropped and the decision made once more on fresh data.
+    // Returns null if the post does not exist; a post already in the target status is returned
+    // as is, so retries are harmless. StatusTransitionException if the move is not allowed.
+    private Post changeStatus(Long id, PostStatus target) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Optional<Post> current = getPostById(id);
+            if (current.isEmpty()) {
+                return null;
+            }
+            Post post = current.get();
+            PostStatus previous = post.getStatus();
+            if (previous == target) {
+                return post;
+            }
+            if (!previous.canMoveTo(target)) {
+                throw new StatusTransitionException(id, previous, target,
+                        "Post " + id + " cannot move from " + previous + " to " + target);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (postRepository.updateStatus(id, PostStatus.sourcesOf(target), post.getVersion(), target, now) == 1) {
+                post.setStatus(target);
+                post.setUpdatedAt(now);
+                post.setVersion(post.getVersion() + 1);
+                eventPublisher.publishEvent(PostEvent.statusChanged(post, previous));
+                return post;
+            }
+            postCache.invalidate(id);
         }
-        return null;
+        throw new StatusTransitionException(id, null, target, "Post " + id + " was changed concurrently, try again");
     }
 
     // Delete a post permanently
     @Transactional
     public void deletePost(Long id) {
+        Optional<PostStatus> status = postRepository.findStatusById(id);
+        commentRepository.deleteByPostId(id);
+        feedbackRepository.deleteByPostId(id);
+        postBodyRepository.deleteByPostId(id);
         postRepository.deleteById(id);
+        likeCounter.forget(id);
+        if (status.isPresent()) {
+            eventPublisher.publishEvent(PostEvent.deleted(id, status.get()));
+        } else if (!coldStorage.deleteAll(List.of(id)).isEmpty()) {
+            eventPublisher.publishEvent(PostEvent.deleted(id, null));
+        }
     }
 
-    // Search posts by title (case-insensitive)
-    public List<Post> searchPosts(String keyword) {
-        return postRepository.findByTitleContainingIgnoreCase(keyword);
+    // Bulk create: invalid items are reported and skipped, the rest are inserted as JDBC batches.
+    // The persistence context is flushed and cleared per batch so memory stays flat. All or
+    // nothing past validation: a failing insert rolls back every item, including earlier batches.
+    @Transactional
+    public List<BulkItemResult> createPosts(List<Post> posts) {
+        BulkItemResult[] results = new BulkItemResult[posts.size()];
+        List<Integer> pending = new ArrayList<>(jdbcBatchSize);
+        for (int i = 0; i < posts.size(); i++) {
+            Post post = posts.get(i);
+            if (post == null || post.getTitle() == null || post.getTitle().isBlank()) {
+                results[i] = new BulkItemResult(i, null, Outcome.INVALID, "title is required");
+                continue;
+            }
+            post.setId(null);
+            post.setStatus(PostStatus.DRAFT);
+            entityManager.persist(post);
+            entityManager.persist(new PostBody(post.getId(), post.getContent()));
+            pending.add(i);
+            if (pending.size() == jdbcBatchSize) {
+                flushCreated(posts, pending, results);
+            }
+        }
+        flushCreated(posts, pending, results);
+        return Arrays.asList(results);
     }
 
-    // Additional useful methods
-    public List<Post> getPostsByAuthor(String author) {
-        return postRepository.findByAuthor(author);
+    private void flushCreated(List<Post> posts, List<Integer> pending, BulkItemResult[] results) {
+        entityManager.flush();
+        for (int index : pending) {
+            Post saved = posts.get(index);
+            results[index] = new BulkItemResult(index, saved.getId(), Outcome.CREATED, null);
+            eventPublisher.publishEvent(PostEvent.created(saved));
+        }
+        entityManager.clear();
+        pending.clear();
     }
 
-    public List<Post> getPostsByStatus(PostStatus status) {
-        return postRepository.findByStatus(status);
+    @Transactional
+    public List<BulkItemResult> publishPosts(List<Long> ids) {
+        return changeStatuses(ids, PostStatus.PUBLISHED);
     }
 
-    // New method: increment like count
     @Transactional
-    public Post likePost(Long id) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            post.setLikes(post.getLikes() + 1);
-            return postRepository.save(post);
-        }
-        return null;
+    public List<BulkItemResult> submitPostsForReview(List<Long> ids) {
+        return changeStatuses(ids, PostStatus.REVIEWED);
     }
 
-    // New method: add comment
     @Transactional
-    public Post addComment(Long id, String comment) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            post.getComments().add(comment);
-            return postRepository.save(post);
+    public List<BulkItemResult> archivePosts(List<Long> ids) {
+        return changeStatuses(ids, PostStatus.ARCHIVED);
+    }
+
+    // One SELECT for all ids, then one JDBC batch of conditional UPDATEs (a single round trip
+    // with rewriteBatchedStatements) whose per-row counts say exactly which moves went through.
+    // Items are INVALID if the workflow forbids the move and CONFLICT if the post changed after
+    // it was read; posts already in the target status count as UPDATED.
+    private List<BulkItemResult> changeStatuses(List<Long> ids, PostStatus target) {
+        Map<Long, Post> found = new HashMap<>();
+        for (Post post : postRepository.findAllById(ids)) {
+            // Detached: these instances must never be flushed over the conditional updates
+            entityManager.detach(post);
+            found.put(post.getId(), post);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        List<Integer> moving = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Post post = found.get(ids.get(i));
+            if (post == null) {
+                results[i] = new BulkItemResult(i, ids.get(i), Outcome.NOT_FOUND, null);
+            } else if (post.getStatus() == target || !seen.add(post.getId())) {
+                results[i] = new BulkItemResult(i, post.getId(), Outcome.UPDATED, null);
+            } else if (!post.getStatus().canMoveTo(target)) {
+                results[i] = new BulkItemResult(i, post.getId(), Outcome.INVALID,
+                        "cannot move from " + post.getStatus() + " to " + target);
+            } else {
+                moving.add(i);
+            }
+        }
+        if (moving.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        List<Object[]> args = new ArrayList<>(moving.size());
+        for (int index : moving) {
+            Post post = found.get(ids.get(index));
+            args.add(new Object[] { target.name(), Timestamp.valueOf(now), post.getId(), post.getStatus().name(), post.getVersion() });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(
+                "UPDATE posts SET status = ?, updated_at = ?, version = version + 1 WHERE id = ? AND status = ? AND version = ?", args);
+        for (int n = 0; n < moving.size(); n++) {
+            int index = moving.get(n);
+            Post post = found.get(ids.get(index));
+            if (counts[n] == 0) {
+                results[index] = new BulkItemResult(index, post.getId(), Outcome.CONFLICT, "changed concurrently");
+                continue;
+            }
+            PostStatus previous = post.getStatus();
+            post.setStatus(target);
+            post.setUpdatedAt(now);
+            post.setVersion(post.getVersion() + 1);
+            eventPublisher.publishEvent(PostEvent.statusChanged(post, previous));
+            results[index] = new BulkItemResult(index, post.getId(), Outcome.UPDATED, null);
         }
-        return null;
+        return Arrays.asList(results);
     }
 
-    // New method: add feedback
+    // Four set-based DELETEs (comments, feedback, bodies, posts) regardless of how many ids are
+    // given, plus one for those in cold storage
     @Transactional
-    public Post addFeedback(Long id, String feedback) {
-        Optional<Post> postOpt = postRepository.findById(id);
-        if (postOpt.isPresent()) {
-            Post post = postOpt.get();
-            post.getFeedback().add(feedback);
-            return postRepository.save(post);
-        }
-        return null;
+    public List<BulkItemResult> deletePosts(List<Long> ids) {
+        Map<Long, PostStatus> statuses = new HashMap<>();
+        for (Object[] row : postRepository.findStatusesByIds(ids)) {
+            statuses.put((Long) row[0], (PostStatus) row[1]);
+        }
+        if (!statuses.isEmpty()) {
+            commentRepository.deleteByPostIdIn(statuses.keySet());
+            feedbackRepository.deleteByPostIdIn(statuses.keySet());
+            postBodyRepository.deleteByPostIdIn(statuses.keySet());
+            postRepository.deleteByIdIn(statuses.keySet());
+        }
+        Set<Long> cold = coldStorage.deleteAll(ids.stream().filter(id -> !statuses.containsKey(id)).collect(Collectors.toSet()));
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            PostStatus previous = statuses.remove(id);
+            if (previous == null && cold.remove(id)) {
+                eventPublisher.publishEvent(PostEvent.deleted(id, null));
+                results.add(new BulkItemResult(i, id, Outcome.DELETED, null));
+                continue;
+            }
+            if (previous == null) {
+                results.add(new BulkItemResult(i, id, Outcome.NOT_FOUND, null));
+                continue;
+            }
+            likeCounter.forget(id);
+            eventPublisher.publishEvent(PostEvent.deleted(id, previous));
+            results.add(new BulkItemResult(i, id, Outcome.DELETED, null));
+        }
+        return results;
+    }
+
+    // Full-text search over title and content, best match first (posts come back with their excerpt)
+    public List<Post> searchPosts(String keyword, int page, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<Long> ids = searchIndex.search(keyword, Math.max(page, 0) * pageSize, pageSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Post> byId = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        // Keep the index's ranking; ids deleted since indexing simply drop out. Detached before the
+        // pending likes are merged in, so they are never written back.
+        List<Post> results = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        for (Post post : results) {
+            entityManager.detach(post);
+            post.setLikes(likeCounter.currentLikes(post.getId(), post.getLikes()));
+        }
+        return results;
+    }
+
+    // Additional useful methods
+    public List<Post> getPostsByStatus(PostStatus status) {
+        return postRepository.findByStatus(status);
+    }
+
+    // New method: increment like count (in memory; LikeCounter flushes to the database)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LikeCount likePost(Long id) {
+        long likes = likeCounter.increment(id);
+        if (likes < 0) {
+            return null;
+        }
+        eventPublisher.publishEvent(PostEvent.liked(id, likes));
+        return new LikeCount(id, likes);
+    }
+
+    // Append a comment; runs outside a transaction so no connection is held while the batch writer works
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Comment addComment(Long id, String author, String comment) {
+        if (!postRepository.existsById(id)) {
+            return null;
+        }
+        Comment saved = commentBatchWriter.append(new Comment(id, author, comment, LocalDateTime.now()));
+        eventPublisher.publishEvent(PostEvent.commented(saved));
+        return saved;
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Feedback addFeedback(Long id, String author, String feedback) {
+        if (!postRepository.existsById(id)) {
+            return null;
+        }
+        return commentBatchWriter.append(new Feedback(id, author, feedback, LocalDateTime.now()));
+    }
+
+    // Comments of a post, oldest first; the cursor is the id of the last comment already seen
+    public CursorPage<Comment> getComments(Long id, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<Comment> rows = commentRepository.findByPostIdAndIdGreaterThanOrderByIdAsc(
+                id, parseIdCursor(cursor), PageRequest.of(0, pageSize + 1));
+        if (rows.isEmpty() && !postRepository.existsById(id)) {
+            Optional<ExportedPost> archived = coldStorage.find(id);
+            if (archived.isEmpty()) {
+                return cursor == null ? null : new CursorPage<>(rows, null);
+            }
+            rows = archivedNotes(archived.get().getComments(), parseIdCursor(cursor), pageSize + 1, (position, note) -> {
+                Comment comment = new Comment(id, note.getAuthor(), note.getBody(), note.getCreatedAt());
+                comment.setId(position);
+                return comment;
+            });
+        }
+        return idPage(rows, pageSize, Comment::getId);
+    }
+
+    public CursorPage<Feedback> getFeedback(Long id, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<Feedback> rows = feedbackRepository.findByPostIdAndIdGreaterThanOrderByIdAsc(
+                id, parseIdCursor(cursor), PageRequest.of(0, pageSize + 1));
+        if (rows.isEmpty() && !postRepository.existsById(id)) {
+            Optional<ExportedPost> archived = coldStorage.find(id);
+            if (archived.isEmpty()) {
+                return cursor == null ? null : new CursorPage<>(rows, null);
+            }
+            rows = archivedNotes(archived.get().getFeedback(), parseIdCursor(cursor), pageSize + 1, (position, note) -> {
+                Feedback feedback = new Feedback(id, note.getAuthor(), note.getBody(), note.getCreatedAt());
+                feedback.setId(position);
+                return feedback;
+            });
+        }
+        return idPage(rows, pageSize, Feedback::getId);
+    }
+
+    // Notes of a post in cold storage no longer have their ids; their position (1, 2, ...)
+    // stands in, so paging works the same way
+    private static <T> List<T> archivedNotes(List<ExportedNote> notes, long afterId, int limit,
+            BiFunction<Long, ExportedNote, T> toRow) {
+        List<T> rows = new ArrayList<>(limit);
+        for (int i = (int) Math.min(Math.max(afterId, 0), notes.size()); i < notes.size() && rows.size() < limit; i++) {
+            rows.add(toRow.apply(i + 1L, notes.get(i)));
+        }
+        return rows;
+    }
+
+    private static long parseIdCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? 0L : Long.parseLong(cursor);
+    }
+
+    private static <T> CursorPage<T> idPage(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, pageSize);
+        return new CursorPage<>(page, String.valueOf(idOf.apply(page.get(pageSize - 1))));
     }
 }
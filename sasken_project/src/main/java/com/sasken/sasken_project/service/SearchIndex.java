@@ -0,0 +1,378 @@
+package com.sasken.sasken_project.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.PostBody;
+import com.sasken.sasken_project.repository.PostBodyRepository;
+import com.sasken.sasken_project.repository.PostRepository;
+
+// In-memory inverted index over post titles and content, ranked with BM25.
+// Postings are kept as parallel primitive arrays sorted by post id so AND queries are merges.
+@Component
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostBodyRepository postBodyRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sorted so that a prefix maps to a contiguous key range
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+
+    // Forward index: which terms each post contributed, needed to remove or re-index it
+    private final Map<Long, Doc> docs = new HashMap<>();
+
+    private long totalLength;
+
+    // Run by StartupWarmup once the application is ready. Reads the posts in id order, one keyset
+    // chunk at a time (each chunk starts after the last id of the previous one, so no offset scan)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long afterId = Long.MIN_VALUE;
+        List<Post> chunk;
+        do {
+            chunk = postRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            // Bodies are in their own table: one IN query per chunk
+            Map<Long, String> bodies = new HashMap<>();
+            for (PostBody body : postBodyRepository.findByPostIdIn(chunk.stream().map(Post::getId).toList())) {
+                bodies.put(body.getPostId(), body.getContent());
+            }
+            lock.writeLock().lock();
+            try {
+                for (Post post : chunk) {
+                    // Posts indexed by a concurrent change event are newer than this snapshot
+                    if (!docs.containsKey(post.getId())) {
+                        post.setContent(bodies.get(post.getId()));
+                        add(post);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (chunk.size() == REBUILD_CHUNK_SIZE);
+        log.info("Search index built: {} posts, {} terms in {} ms", size(), termCount(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> index(event.getPost());
+            case DELETED, MOVED_TO_COLD_STORAGE -> remove(event.getPostId());
+            // Status is not part of the index
+            default -> { }
+        }
+    }
+
+    public void index(Post post) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(post.getId());
+            add(post);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // All query terms must match (AND); the last one also matches as a prefix so
+    // search-as-you-type works. Returns post ids, best match first.
+    public List<Long> search(String query, int offset, int limit) {
+        List<String> queryTerms = new ArrayList<>(tokenize(query).keySet());
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            double avgLength = docs.isEmpty() ? 1.0 : (double) totalLength / docs.size();
+            Scored result = null;
+            for (int i = 0; i < queryTerms.size(); i++) {
+                boolean prefix = i == queryTerms.size() - 1;
+                Scored termHits = lookup(queryTerms.get(i), prefix, avgLength);
+                result = result == null ? termHits : result.intersect(termHits);
+                if (result.size == 0) {
+                    return List.of();
+                }
+            }
+            return result.top(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Scored lookup(String term, boolean prefix, double avgLength) {
+        if (!prefix) {
+            Postings postings = terms.get(term);
+            return postings == null ? Scored.EMPTY : score(postings, avgLength);
+        }
+        // A short prefix can match thousands of terms: only the MAX_PREFIX_EXPANSIONS found in the
+        // most posts are searched, so "da" still finds "data" behind a run of rare "da..." terms
+        NavigableMap<String, Postings> range = terms.subMap(term, true, term + Character.MAX_VALUE, false);
+        PriorityQueue<Postings> widest = new PriorityQueue<>(MAX_PREFIX_EXPANSIONS, Comparator.comparingInt(p -> p.size));
+        for (Postings postings : range.values()) {
+            if (widest.size() < MAX_PREFIX_EXPANSIONS) {
+                widest.add(postings);
+            } else if (postings.size > widest.peek().size) {
+                widest.poll();
+                widest.add(postings);
+            }
+        }
+        Scored union = Scored.EMPTY;
+        for (Postings postings : widest) {
+            union = union.union(score(postings, avgLength));
+        }
+        return union;
+    }
+
+    private Scored score(Postings postings, double avgLength) {
+        int n = docs.size();
+        double idf = Math.log(1 + (n - postings.size + 0.5) / (postings.size + 0.5));
+        double[] scores = new double[postings.size];
+        for (int i = 0; i < postings.size; i++) {
+            int tf = postings.freqs[i];
+            double norm = K1 * (1 - B + B * docs.get(postings.ids[i]).length / avgLength);
+            scores[i] = idf * tf * (K1 + 1) / (tf + norm);
+        }
+        return new Scored(Arrays.copyOf(postings.ids, postings.size), scores, postings.size);
+    }
+
+    // Caller holds the write lock
+    private void add(Post post) {
+        Map<String, Integer> counts = tokenize(post.getTitle());
+        counts.replaceAll((term, tf) -> tf * TITLE_WEIGHT);
+        tokenize(post.getContent()).forEach((term, tf) -> counts.merge(term, tf, Integer::sum));
+
+        String[] docTerms = new String[counts.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            Postings postings = terms.computeIfAbsent(entry.getKey(), t -> new Postings());
+            postings.put(post.getId(), entry.getValue());
+            // Reuse the map key so every doc shares one String instance per term
+            docTerms[i++] = terms.ceilingKey(entry.getKey());
+            length += entry.getValue();
+        }
+        docs.put(post.getId(), new Doc(docTerms, length));
+        totalLength += length;
+    }
+
+    // Caller holds the write lock
+    private void removeLocked(Long postId) {
+        Doc doc = docs.remove(postId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(postId) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+        totalLength -= doc.length;
+    }
+
+    // Lower-cased letter/digit runs with their frequencies, in first-seen order
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        if (text == null) {
+            return counts;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                int length = i - start;
+                if (length >= MIN_TOKEN_LENGTH && length <= MAX_TOKEN_LENGTH) {
+                    counts.merge(lower.substring(start, i), 1, Integer::sum);
+                }
+                start = -1;
+            }
+        }
+        return counts;
+    }
+
+    private static final class Doc {
+        final String[] terms;
+        final int length;
+
+        Doc(String[] terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    // Growable sorted (post id, term frequency) arrays
+    private static final class Postings {
+        long[] ids = new long[2];
+        int[] freqs = new int[2];
+        int size;
+
+        void put(long id, int freq) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                freqs[pos] = freq;
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            System.arraycopy(freqs, pos, freqs, pos + 1, size - pos);
+            ids[pos] = id;
+            freqs[pos] = freq;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+            size--;
+            if (size > 8 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+                freqs = Arrays.copyOf(freqs, freqs.length / 2);
+            }
+            return true;
+        }
+    }
+
+    // Query-time candidate set: ids sorted ascending with accumulated scores
+    private static final class Scored {
+        static final Scored EMPTY = new Scored(new long[0], new double[0], 0);
+
+        final long[] ids;
+        final double[] scores;
+        final int size;
+
+        Scored(long[] ids, double[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        Scored intersect(Scored other) {
+            long[] outIds = new long[Math.min(size, other.size)];
+            double[] outScores = new double[outIds.length];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (ids[i] > other.ids[j]) {
+                    j++;
+                } else {
+                    outIds[n] = ids[i];
+                    outScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new Scored(outIds, outScores, n);
+        }
+
+        // A post matching several expansions of a prefix keeps its best expansion score
+        Scored union(Scored other) {
+            long[] outIds = new long[size + other.size];
+            double[] outScores = new double[outIds.length];
+            int i = 0, j = 0, n = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && ids[i] < other.ids[j])) {
+                    outIds[n] = ids[i];
+                    outScores[n++] = scores[i++];
+                } else if (i == size || ids[i] > other.ids[j]) {
+                    outIds[n] = other.ids[j];
+                    outScores[n++] = other.scores[j++];
+                } else {
+                    outIds[n] = ids[i];
+                    outScores[n++] = Math.max(scores[i++], other.scores[j++]);
+                }
+            }
+            return new Scored(outIds, outScores, n);
+        }
+
+        List<Long> top(int offset, int limit) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // Best score first; newer posts (higher ids) win ties
+            Arrays.sort(order, (a, b) -> {
+                int cmp = Double.compare(scores[b], scores[a]);
+                return cmp != 0 ? cmp : Long.compare(ids[b], ids[a]);
+            });
+            List<Long> page = new ArrayList<>();
+            for (int i = offset; i < size && page.size() < limit; i++) {
+                page.add(ids[order[i]]);
+            }
+            return page;
+        }
+    }
+}
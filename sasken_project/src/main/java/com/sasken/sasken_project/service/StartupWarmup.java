@@ -0,0 +1,107 @@
+package com.sasken.sasken_project.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+// Work that only fills in-memory read models (search index, trending ranking, dashboard status
+// counters) runs once the application is ready instead of while the context starts. With
+// blog.startup.background-warmup=true (prod profile) it runs on its own thread, so the port is
+// open and the instance ready before it finishes; meanwhile search and trending answer from what
+// is loaded so far and the dashboard counters read zero. Also logs where the startup time went,
+// from the steps recorded by BufferingApplicationStartup (see SaskenProjectApplication), which
+// /actuator/startup serves in full.
+@Component
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    @Value("${blog.startup.background-warmup:false}")
+    private boolean backgroundWarmup;
+
+    @Value("${blog.startup.report-slowest-beans:10}")
+    private int reportSlowestBeans;
+
+    @Autowired
+    private StatusCounters statusCounters;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private TrendingPosts trendingPosts;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        if (event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            report(startup, event.getTimeTaken().toMillis());
+        }
+        if (backgroundWarmup) {
+            Thread warmup = new Thread(this::warmUp, "startup-warmup");
+            warmup.setDaemon(true);
+            warmup.start();
+        } else {
+            warmUp();
+        }
+    }
+
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        run("status counters", statusCounters::seed);
+        run("search index", searchIndex::rebuild);
+        run("trending ranking", trendingPosts::rebuild);
+        log.info("Warm-up finished in {} ms", System.currentTimeMillis() - start);
+    }
+
+    // One failing step (database briefly unavailable) must not keep the others from running
+    private void run(String name, Runnable step) {
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            log.error("Warm-up of the {} failed, it stays incomplete until its next rebuild", name, e);
+        }
+    }
+
+    // Top-level phases (their children included) and the slowest bean creations
+    private void report(BufferingApplicationStartup startup, long readyMs) {
+        List<TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+        StringJoiner phases = new StringJoiner(", ");
+        List<TimelineEvent> beans = new ArrayList<>();
+        for (TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if ("spring.beans.instantiate".equals(step.getName())) {
+                beans.add(event);
+            } else if (step.getParentId() == null) {
+                phases.add(step.getName() + "=" + event.getDuration().toMillis() + "ms");
+            }
+        }
+        beans.sort(Comparator.comparing(TimelineEvent::getDuration).reversed());
+        StringJoiner slowest = new StringJoiner(", ");
+        for (TimelineEvent bean : beans.subList(0, Math.min(reportSlowestBeans, beans.size()))) {
+            slowest.add(beanName(bean.getStartupStep()) + "=" + bean.getDuration().toMillis() + "ms");
+        }
+        log.info("Ready in {} ms; phases: {}", readyMs, phases);
+        log.info("Slowest beans (including their dependencies): {}", slowest);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
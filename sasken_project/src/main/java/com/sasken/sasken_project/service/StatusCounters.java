@@ -0,0 +1,113 @@
+package com.sasken.sasken_project.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sasken.sasken_project.config.ReplicaRoutingDataSource;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.repository.PostRepository;
+
+// Post counts per status kept in memory. Seeded with one GROUP BY query and then moved by the
+// PostEvents of every committed state transition; the whole array is swapped atomically so a
+// transition (one status down, another up) is never observed half-applied. A resync applies its
+// correction through the same swap, so it never drops a move racing it.
+@Component
+public class StatusCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusCounters.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private final AtomicReference<long[]> counts = new AtomicReference<>(new long[PostStatus.values().length]);
+
+    // Run by StartupWarmup once the application is ready; until then the counters read zero
+    // (moves in the meantime are kept, see reload)
+    public void seed() {
+        reload(postRepository::countGroupedByStatus);
+    }
+
+    // Corrects drift from writes this instance did not see (other instances, manual SQL).
+    // Counts come from the primary, a lagging replica would undo moves already applied here.
+    @Scheduled(initialDelayString = "${blog.dashboard.counter-resync-ms:600000}",
+               fixedDelayString = "${blog.dashboard.counter-resync-ms:600000}")
+    public void resync() {
+        long[][] result = reload(() -> ReplicaRoutingDataSource.onPrimary(postRepository::countGroupedByStatus));
+        long[] previous = result[0];
+        long[] corrected = result[1];
+        for (PostStatus status : PostStatus.values()) {
+            if (previous[status.ordinal()] != corrected[status.ordinal()]) {
+                log.info("Status counter {} resynced from {} to {}", status, previous[status.ordinal()], corrected[status.ordinal()]);
+            }
+        }
+    }
+
+    public long get(PostStatus status) {
+        return counts.get()[status.ordinal()];
+    }
+
+    // Consistent copy of all counters, indexed by PostStatus.ordinal()
+    public long[] snapshot() {
+        return counts.get().clone();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        switch (event.getType()) {
+            case CREATED -> move(null, event.getPost().getStatus());
+            case STATUS_CHANGED -> move(event.getPreviousStatus(), event.getPost().getStatus());
+            case DELETED, MOVED_TO_COLD_STORAGE -> move(event.getPreviousStatus(), null);
+            default -> { }
+        }
+    }
+
+    private void move(PostStatus from, PostStatus to) {
+        if (from == to) {
+            return;
+        }
+        counts.updateAndGet(current -> {
+            long[] next = current.clone();
+            if (from != null) {
+                next[from.ordinal()]--;
+            }
+            if (to != null) {
+                next[to.ordinal()]++;
+            }
+            return next;
+        });
+    }
+
+    // Moves events keep applying while the counts are queried, and those are not in the query's
+    // result if they committed after it started. So only the difference between the query and the
+    // counters as they were just before it is applied, in the same atomic update as move(): moves
+    // in between survive. Only a move committed before the query whose event had not arrived yet
+    // counts twice, until the next resync. Returns {counters before, counters after}.
+    private long[][] reload(Supplier<List<Object[]>> query) {
+        long[] before = counts.get();
+        long[] fresh = new long[PostStatus.values().length];
+        for (Object[] row : query.get()) {
+            if (row[0] != null) {
+                fresh[((PostStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+            }
+        }
+        long[][] result = new long[2][];
+        counts.updateAndGet(current -> {
+            result[0] = current;
+            long[] next = current.clone();
+            for (int i = 0; i < next.length; i++) {
+                next[i] += fresh[i] - before[i];
+            }
+            result[1] = next;
+            return next;
+        });
+        return result;
+    }
+}
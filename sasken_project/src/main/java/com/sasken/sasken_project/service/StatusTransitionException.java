@@ -0,0 +1,23 @@
+package com.sasken.sasken_project.service;
+
+import com.sasken.sasken_project.entity.Post.PostStatus;
+
+// A status change the workflow does not allow from the post's current status, or one that lost
+// a race with another change to the same post; answered with 409 Conflict
+public class StatusTransitionException extends RuntimeException {
+
+    private final Long postId;
+    private final PostStatus from;
+    private final PostStatus to;
+
+    public StatusTransitionException(Long postId, PostStatus from, PostStatus to, String message) {
+        super(message);
+        this.postId = postId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getPostId() { return postId; }
+    public PostStatus getFrom() { return from; }
+    public PostStatus getTo() { return to; }
+}
@@ -0,0 +1,436 @@
+package com.sasken.sasken_project.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sasken.sasken_project.dto.TrendingPost;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.repository.CommentRepository;
+import com.sasken.sasken_project.repository.PostRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// "Trending now": an engagement score per published post (its publication, likes, comments),
+// decayed exponentially with blog.trending.half-life-ms. Scores use forward decay: an activity
+// at time t adds weight * 2^((t - landmark) / halfLife), so no score has to be touched as time
+// passes and the order only changes when something happens. The posts are kept ordered by score
+// in a ConcurrentSkipListSet, so the top K is read without locks in O(K) and never queries the
+// database. Rebuilt from the database after startup: comments carry their time, likes are only a
+// count and are credited at the post's last update.
+//
+// Only the blog.trending.candidates best posts are kept. An evicted post's weight raises the
+// floor; when a post outside the candidates gets activity again it comes back at the floor plus
+// that activity, an upper bound of its real score (as in Space-Saving), so a post on its way up
+// is never missed. Likes and comments, which arrive on request threads, only add to a per-post
+// tally in a concurrent map; applyActivity() moves the tallies into the ranking every
+// blog.trending.apply-interval-ms, so the like path never waits for the ranking lock.
+@Component
+public class TrendingPosts {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingPosts.class);
+
+    // Weights are moved to a new landmark well before 2^exponent could overflow a double
+    private static final double MAX_EXPONENT = 60;
+
+    // Activity older than this many half-lives adds less than 0.1% and is skipped on rebuild
+    private static final int REBUILD_HORIZON_HALF_LIVES = 10;
+
+    @Value("${blog.trending.half-life-ms:21600000}")
+    private long halfLifeMs;
+
+    @Value("${blog.trending.publish-weight:5}")
+    private double publishWeight;
+
+    @Value("${blog.trending.like-weight:1}")
+    private double likeWeight;
+
+    @Value("${blog.trending.comment-weight:3}")
+    private double commentWeight;
+
+    @Value("${blog.trending.max-limit:50}")
+    private int maxLimit;
+
+    @Value("${blog.trending.candidates:1000}")
+    private int candidates;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readTransaction;
+
+    // Writers serialize on the lock; readers only read the volatile state
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile State state = new State(new HashMap<>(), System.currentTimeMillis());
+
+    // Non-null while rebuild() reads the database: events are held back and replayed on the new state
+    private List<PostEvent> pending;
+
+    // Likes and comments not yet in the ranking, per post; entries are changed with compute() and
+    // taken out with remove(), so no tally is lost in between
+    private final ConcurrentHashMap<Long, Activity> activity = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
+
+    // The highest-scoring published posts, best first
+    public List<TrendingPost> top(int limit) {
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        State current = state;
+        double decay = Math.pow(2, -(System.currentTimeMillis() - current.landmark) / (double) halfLifeMs);
+        List<TrendingPost> result = new ArrayList<>(size);
+        // A post being re-scored can briefly be in the set twice
+        Set<Long> seen = new HashSet<>();
+        for (Ranked ranked : current.ranking) {
+            if (result.size() == size) {
+                break;
+            }
+            Entry entry = ranked.entry;
+            if (seen.add(entry.id)) {
+                result.add(new TrendingPost(entry.id, entry.title, entry.author, entry.createdAt, entry.likes, ranked.weight * decay));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return state.ranking.size();
+    }
+
+    // Run by StartupWarmup once the application is ready, and after imports
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.lock();
+        try {
+            pending = new ArrayList<>();
+            // Already committed or in the like counter, so the rebuild reads them
+            activity.clear();
+        } finally {
+            lock.unlock();
+        }
+        State fresh = new State(new HashMap<>(), start);
+        boolean built = false;
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                // Comments first, so posts can be trimmed to the candidates while the seeds stream
+                Map<Long, Double> commentWeights = new HashMap<>();
+                LocalDateTime since = LocalDateTime.now().minusNanos(REBUILD_HORIZON_HALF_LIVES * halfLifeMs * 1_000_000);
+                try (Stream<Object[]> rows = commentRepository.streamPostActivitySince(since)) {
+                    rows.forEach(row -> commentWeights.merge((Long) row[0],
+                            fresh.weightAt(commentWeight, millis((LocalDateTime) row[1]), halfLifeMs), Double::sum));
+                }
+                try (Stream<Object[]> rows = postRepository.streamTrendingSeeds()) {
+                    rows.forEach(row -> {
+                        Entry entry = seedEntry(row);
+                        LocalDateTime updatedAt = row[4] != null ? (LocalDateTime) row[4] : entry.createdAt;
+                        fresh.entries.put(entry.id, entry);
+                        fresh.add(entry, publishWeight + likeWeight * entry.likes, millis(updatedAt), halfLifeMs);
+                        Double commented = commentWeights.get(entry.id);
+                        if (commented != null) {
+                            fresh.credit(entry, commented);
+                        }
+                        if (fresh.entries.size() >= 2 * capacity()) {
+                            fresh.trim(capacity());
+                        }
+                    });
+                }
+                fresh.trim(capacity());
+            });
+            built = true;
+        } finally {
+            lock.lock();
+            try {
+                // On failure the old state stays and the held-back events still apply to it
+                if (built) {
+                    state = fresh;
+                }
+                for (PostEvent event : pending) {
+                    apply(event);
+                }
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+        log.info("Trending ranking built: {} published posts in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostEvent(PostEvent event) {
+        if (event.getType() == PostEvent.Type.LIKED || event.getType() == PostEvent.Type.COMMENTED) {
+            activity.compute(event.getPostId(), (id, tally) -> {
+                Activity updated = tally != null ? tally : new Activity();
+                if (event.getType() == PostEvent.Type.LIKED) {
+                    updated.likes++;
+                    updated.latestLikes = Math.max(updated.latestLikes, event.getLikes());
+                } else {
+                    updated.comments++;
+                }
+                return updated;
+            });
+            return;
+        }
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            } else {
+                apply(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Credits the likes and comments gathered since the last run, at the current time
+    @Scheduled(fixedDelayString = "${blog.trending.apply-interval-ms:1000}")
+    public void applyActivity() {
+        if (activity.isEmpty()) {
+            return;
+        }
+        Set<Long> untracked = new HashSet<>();
+        lock.lock();
+        try {
+            if (pending != null) {
+                return; // Rebuilding: the tallies wait for the new state
+            }
+            for (Long id : activity.keySet()) {
+                if (!state.entries.containsKey(id)) {
+                    untracked.add(id);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Outside the lock: the published posts among those that are not candidates right now
+        Map<Long, Object[]> seeds = new HashMap<>();
+        if (!untracked.isEmpty()) {
+            for (Object[] row : postRepository.findTrendingSeeds(untracked)) {
+                seeds.put((Long) row[0], row);
+            }
+        }
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            for (Long id : activity.keySet()) {
+                Activity tally = activity.remove(id);
+                if (tally == null) {
+                    continue;
+                }
+                Entry entry = state.entries.get(id);
+                if (entry == null) {
+                    Object[] seed = seeds.get(id);
+                    if (seed == null) {
+                        continue; // Not published, or its row was not read in time; a later tally retries
+                    }
+                    entry = seedEntry(seed);
+                    state.entries.put(id, entry);
+                    state.credit(entry, state.floor);
+                }
+                if (tally.likes > 0) {
+                    entry.likes = Math.max(entry.likes, tally.latestLikes);
+                }
+                add(entry, likeWeight * tally.likes + commentWeight * tally.comments, now);
+            }
+            state.trim(capacity());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void apply(PostEvent event) {
+        Map<Long, Entry> entries = state.entries;
+        Entry entry = entries.get(event.getPostId());
+        switch (event.getType()) {
+            case CREATED, STATUS_CHANGED -> {
+                Post post = event.getPost();
+                if (post.getStatus() != PostStatus.PUBLISHED) {
+                    remove(event.getPostId());
+                } else if (entry == null) {
+                    entry = new Entry(post.getId(), post.getTitle(), post.getAuthor(), post.getCreatedAt());
+                    entry.likes = post.getLikes();
+                    entries.put(entry.id, entry);
+                    add(entry, publishWeight, System.currentTimeMillis());
+                    state.trim(capacity());
+                }
+            }
+            case UPDATED -> {
+                if (entry != null) {
+                    entry.title = event.getPost().getTitle();
+                    entry.author = event.getPost().getAuthor();
+                }
+            }
+            case DELETED, MOVED_TO_COLD_STORAGE -> remove(event.getPostId());
+            // Tallied in onPostEvent, credited by applyActivity()
+            default -> { }
+        }
+    }
+
+    private Entry seedEntry(Object[] row) {
+        Long id = (Long) row[0];
+        Entry entry = new Entry(id, (String) row[1], (String) row[2], (LocalDateTime) row[3]);
+        entry.likes = likeCounter.currentLikes(id, (Integer) row[5]);
+        return entry;
+    }
+
+    private int capacity() {
+        return Math.max(candidates, maxLimit);
+    }
+
+    // Caller holds the lock
+    private void add(Entry entry, double weight, long atMillis) {
+        if ((atMillis - state.landmark) / (double) halfLifeMs > MAX_EXPONENT) {
+            state = state.rebased(atMillis, halfLifeMs);
+        }
+        state.add(entry, weight, atMillis, halfLifeMs);
+    }
+
+    // Caller holds the lock
+    private void remove(Long postId) {
+        Entry entry = state.entries.remove(postId);
+        if (entry != null && entry.ranked != null) {
+            state.ranking.remove(entry.ranked);
+        }
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time == null ? System.currentTimeMillis() : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Entries by post id plus the ranking; landmark and ranking are replaced together when rebased
+    private static class State {
+        final Map<Long, Entry> entries;
+        final long landmark;
+        final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>();
+        // Highest weight of a post trimmed away, at this landmark
+        double floor;
+
+        State(Map<Long, Entry> entries, long landmark) {
+            this.entries = entries;
+            this.landmark = landmark;
+        }
+
+        // New ranked value is inserted before the old one is removed, so readers never miss the post
+        void add(Entry entry, double weight, long atMillis, long halfLifeMs) {
+            credit(entry, weightAt(weight, atMillis, halfLifeMs));
+        }
+
+        double weightAt(double weight, long atMillis, long halfLifeMs) {
+            return weight * Math.pow(2, (atMillis - landmark) / (double) halfLifeMs);
+        }
+
+        void credit(Entry entry, double added) {
+            Ranked previous = entry.ranked;
+            double total = previous == null ? added : previous.weight + added;
+            if (previous != null && total == previous.weight) {
+                return; // Too old to register; an equal Ranked would replace, then lose, the post
+            }
+            entry.ranked = new Ranked(total, entry);
+            ranking.add(entry.ranked);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+        }
+
+        // Drops the lowest-ranked posts beyond capacity, remembering the best of them in floor
+        void trim(int capacity) {
+            while (entries.size() > capacity) {
+                Ranked lowest = ranking.pollLast();
+                if (lowest == null) {
+                    return;
+                }
+                entries.remove(lowest.entry.id);
+                floor = Math.max(floor, lowest.weight);
+            }
+        }
+
+        // Same order, weights expressed relative to a later landmark
+        State rebased(long newLandmark, long halfLifeMs) {
+            State rebased = new State(entries, newLandmark);
+            double factor = Math.pow(2, -(newLandmark - landmark) / (double) halfLifeMs);
+            rebased.floor = floor * factor;
+            for (Entry entry : entries.values()) {
+                if (entry.ranked != null) {
+                    entry.ranked = new Ranked(entry.ranked.weight * factor, entry);
+                    rebased.ranking.add(entry.ranked);
+                }
+            }
+            return rebased;
+        }
+    }
+
+    private static class Entry {
+        final Long id;
+        final LocalDateTime createdAt;
+        volatile String title;
+        volatile String author;
+        volatile long likes;
+        // Current position in the ranking; guarded by the lock
+        Ranked ranked;
+
+        Entry(Long id, String title, String author, LocalDateTime createdAt) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+            this.createdAt = createdAt;
+        }
+    }
+
+    // Likes and comments on one post since the last applyActivity(); changed only inside
+    // ConcurrentHashMap.compute
+    private static class Activity {
+        long likes;
+        long latestLikes;
+        long comments;
+    }
+
+    // Highest weight first, ties by id so distinct posts never compare equal
+    private static class Ranked implements Comparable<Ranked> {
+        final double weight;
+        final Entry entry;
+
+        Ranked(double weight, Entry entry) {
+            this.weight = weight;
+            this.entry = entry;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byWeight = Double.compare(other.weight, weight);
+            return byWeight != 0 ? byWeight : Long.compare(entry.id, other.entry.id);
+        }
+    }
+}
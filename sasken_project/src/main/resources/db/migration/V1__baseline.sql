@@ -0,0 +1,65 @@
+-- Schema as the entities define it (what ddl-auto=update last produced). Databases created by
+-- ddl-auto=update are baselined at this version instead of running it (see application-prod).
+
+create table posts (
+    id bigint not null,
+    title varchar(255) not null,
+    excerpt varchar(301),
+    word_count integer default 0 not null,
+    status enum ('ARCHIVED','DRAFT','PUBLISHED','REVIEWED'),
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    author varchar(255),
+    version bigint default 0 not null,
+    likes integer,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_posts_status_created on posts (status, created_at);
+create index idx_posts_status_updated on posts (status, updated_at);
+create index idx_posts_author_status_created on posts (author, status, created_at);
+
+-- Backs the pooled posts_seq id generator
+create table posts_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into posts_seq values (1);
+
+create table post_bodies (
+    post_id bigint not null,
+    content longblob,
+    primary key (post_id)
+) engine=InnoDB;
+
+create table comments (
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    author varchar(255),
+    body TEXT not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_comments_post_id on comments (post_id, id);
+
+create table feedback (
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    author varchar(255),
+    body TEXT not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_feedback_post_id on feedback (post_id, id);
+
+create table dashboard_analytics (
+    id bigint not null auto_increment,
+    total_posts bigint,
+    total_drafts bigint,
+    total_reviews bigint,
+    recent_activity varchar(255),
+    created_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
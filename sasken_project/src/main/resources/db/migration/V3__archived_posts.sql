@@ -0,0 +1,7 @@
+-- Cold storage for archived posts (ArchivedPost): one deflated JSON document per post
+create table archived_posts (
+    post_id bigint not null,
+    archived_at datetime(6) not null,
+    document longblob not null,
+    primary key (post_id)
+) engine=InnoDB;
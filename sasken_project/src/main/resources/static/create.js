@@ -2,6 +2,14 @@ const API_BASE = "http://localhost:8080/api/posts"; // FIXED: Removed backslash
 let isEditMode = false;
 let editPostId = null;
 
+// Edit mode autosave: only what changed since the last save goes out, as a PATCH carrying the
+// title if it changed and one text delta for the content, guarded by the ETag of the version
+// being edited so a concurrent edit elsewhere is reported instead of overwritten
+const AUTOSAVE_INTERVAL_MS = 5000;
+let savedState = null; // { etag, title, content } as last saved on the server
+let autosaveTimer = null;
+let patchInFlight = null;
+
 // Check if we're in edit mode when page loads
 document.addEventListener('DOMContentLoaded', function() {
   console.log("🚀 Create page loaded");
@@ -29,10 +37,12 @@ document.addEventListener('DOMContentLoaded', function() {
       // Clear localStorage after use
       localStorage.removeItem('editDraftData');
       console.log("✅ Form populated and localStorage cleared");
+      // Still fetch the post: deltas are computed against the saved version and need its ETag
+      loadPostForEditing(editPostId, false);
     } else {
       // Fallback: try to load from API
       console.log("🔍 No localStorage data, trying API...");
-      loadPostForEditing(editPostId);
+      loadPostForEditing(editPostId, true);
     }
     
     updateUIForEditMode();
@@ -42,7 +52,7 @@ document.addEventListener('DOMContentLoaded', function() {
 });
 
 // Load existing post data for editing
-async function loadPostForEditing(postId) {
+async function loadPostForEditing(postId, fillForm) {
   try {
     const response = await fetch(`${API_BASE}/${postId}`); // FIXED: Removed backslashes
     
@@ -52,13 +62,18 @@ async function loadPostForEditing(postId) {
     
     const post = await response.json();
     
-    // Pre-populate the form with existing data
-    document.getElementById('title').value = post.title;
-    document.getElementById('content').value = post.content;
+    if (fillForm) {
+      // Pre-populate the form with existing data
+      document.getElementById('title').value = post.title;
+      document.getElementById('content').value = post.content;
+    }
     
     // Store the author for later use
     window.currentAuthor = post.author;
     
+    savedState = { etag: response.headers.get('ETag'), title: post.title, content: post.content || '' };
+    startAutosave();
+    
     console.log('Post loaded for editing:', post);
     
   } catch (error) {
@@ -146,8 +161,14 @@ async function submitPost(status) {
     
     if (isEditMode) {
       console.log("📝 Updating existing post:", editPostId);
-      // UPDATE existing post
-      result = await updatePost(editPostId, postData);
+      // UPDATE existing post: send what is left since the last autosave (if the post could
+      // not be loaded for patching, fall back to a full update)
+      stopAutosave();
+      if (savedState) {
+        result = (await savePatch(title, content)) || { title: savedState.title };
+      } else {
+        result = await updatePost(editPostId, postData);
+      }
       
       if (status === 'REVIEW') {
         // If updating and sending to review, change status
@@ -233,6 +254,92 @@ async function updatePost(postId, postData) {
   }
 }
 
+function startAutosave() {
+  if (!autosaveTimer) {
+    autosaveTimer = setInterval(() => {
+      const title = document.getElementById('title').value;
+      const content = document.getElementById('content').value;
+      savePatch(title, content).catch(error => console.error('Autosave failed:', error));
+    }, AUTOSAVE_INTERVAL_MS);
+  }
+}
+
+function stopAutosave() {
+  clearInterval(autosaveTimer);
+  autosaveTimer = null;
+}
+
+// Smallest single replacement turning oldText into newText: the common prefix and suffix stay,
+// the middle of oldText is replaced by the middle of newText
+function textDelta(oldText, newText) {
+  let start = 0;
+  const maxPrefix = Math.min(oldText.length, newText.length);
+  while (start < maxPrefix && oldText[start] === newText[start]) {
+    start++;
+  }
+  let oldEnd = oldText.length;
+  let newEnd = newText.length;
+  while (oldEnd > start && newEnd > start && oldText[oldEnd - 1] === newText[newEnd - 1]) {
+    oldEnd--;
+    newEnd--;
+  }
+  return { start: start, end: oldEnd, text: newText.slice(start, newEnd) };
+}
+
+// Sends the changes from savedState to (title, content); resolves to the saved post, or to
+// null when there was nothing to send. Saves are serialized: each one needs the ETag the
+// previous one returned.
+async function savePatch(title, content) {
+  while (patchInFlight) {
+    await patchInFlight.catch(() => {});
+  }
+  if (!savedState) {
+    return null;
+  }
+  const patch = {};
+  if (title.trim() && title !== savedState.title) {
+    patch.title = title; // a blank title is rejected, keep the saved one until it is filled in
+  }
+  if (content !== savedState.content) {
+    patch.contentDeltas = [textDelta(savedState.content, content)];
+  }
+  if (Object.keys(patch).length === 0) {
+    return null;
+  }
+  patchInFlight = patchPost(editPostId, patch, savedState.etag);
+  try {
+    const result = await patchInFlight;
+    savedState = { etag: result.etag, title: result.post.title, content: result.post.content || '' };
+    console.log('Post saved, patch of', JSON.stringify(patch).length, 'bytes');
+    return result.post;
+  } finally {
+    patchInFlight = null;
+  }
+}
+
+async function patchPost(postId, patch, etag) {
+  const response = await fetch(`${API_BASE}/${postId}`, {
+    method: 'PATCH',
+    headers: {
+      'Content-Type': 'application/merge-patch+json',
+      'If-Match': etag
+    },
+    body: JSON.stringify(patch)
+  });
+  if (response.status === 409) {
+    // Someone else saved this post meanwhile: stop saving over it and let the user reload
+    stopAutosave();
+    savedState = null;
+    showErrorMessage('This post was changed elsewhere. Reload the page to continue from the latest version.');
+    throw new Error('Post was modified concurrently');
+  }
+  if (!response.ok) {
+    const errorText = await response.text();
+    throw new Error(`HTTP error! status: ${response.status}, message: ${errorText}`);
+  }
+  return { post: await response.json(), etag: response.headers.get('ETag') };
+}
+
 // Function to submit post for review
 async function submitForReview(postId) {
   try {
@@ -1,28 +1,22 @@
 const API_BASE = "http://localhost:8080/api/posts";
+const ANALYTICS_URL = "http://localhost:8080/api/dashboard/analytics";
 
 async function loadDashboardData() {
   try {
-    // Load all posts from your backend
-    const response = await fetch(API_BASE);
-    const posts = await response.json();
+    // Counters come from the server; only the newest published summaries are downloaded
+    const [analyticsResponse, recentResponse] = await Promise.all([
+      fetch(ANALYTICS_URL),
+      fetch(`${API_BASE}/summaries?size=5`)
+    ]);
+    const analytics = await analyticsResponse.json();
+    const recent = await recentResponse.json();
 
-    console.log("📊 Dashboard posts loaded:", posts);
+    console.log("📊 Dashboard analytics loaded:", analytics);
 
-    // Calculate statistics based on your actual post statuses
-    const totalPosts = posts.length;
-    const publishedPosts = posts.filter(post => post.status === "PUBLISHED").length;
-    // FIXED: Changed from "REVIEWED" to "REVIEW" to match the actual status used in your app
-    const reviewPosts = posts.filter(post => post.status === "REVIEW").length;
-    const draftPosts = posts.filter(post => post.status === "DRAFT").length;
-
-    // Update stats cards
-    document.getElementById("total-posts").textContent = totalPosts;
-    document.getElementById("published-posts").textContent = publishedPosts;
-    document.getElementById("review-posts").textContent = reviewPosts;
-    document.getElementById("draft-posts").textContent = draftPosts;
+    updateCounters(analytics);
 
     // Show published posts in the "Ready to Publish" section
-    displayRecentPosts(posts);
+    displayRecentPosts(recent.items);
 
   } catch (error) {
     console.error("❌ Error loading dashboard data:", error);
@@ -30,6 +24,53 @@ async function loadDashboardData() {
   }
 }
 
+// Update stats cards
+function updateCounters(analytics) {
+  const publishedPosts = analytics.totalPosts ?? 0;
+  const reviewPosts = analytics.totalReviews ?? 0;
+  const draftPosts = analytics.totalDrafts ?? 0;
+  const totalPosts = publishedPosts + reviewPosts + draftPosts;
+
+  document.getElementById("total-posts").textContent = totalPosts;
+  document.getElementById("published-posts").textContent = publishedPosts;
+  document.getElementById("review-posts").textContent = reviewPosts;
+  document.getElementById("draft-posts").textContent = draftPosts;
+}
+
+async function loadRecentPosts() {
+  try {
+    const response = await fetch(`${API_BASE}/summaries?size=5`);
+    const recent = await response.json();
+    displayRecentPosts(recent.items);
+  } catch (error) {
+    console.error("❌ Error loading recent posts:", error);
+  }
+}
+
+// Live updates: the server pushes counter changes and post changes, so an open dashboard
+// only refetches the five recent posts when a published post actually changed
+let recentReloadTimer = null;
+
+function subscribeToLiveUpdates() {
+  if (!window.EventSource) return;
+  const events = new EventSource(`${API_BASE}/events`);
+
+  events.addEventListener("counters", (event) => updateCounters(JSON.parse(event.data)));
+
+  ["post-created", "post-updated", "post-status", "post-deleted"].forEach((name) => {
+    events.addEventListener(name, (event) => {
+      const change = JSON.parse(event.data);
+      if (change.status === "PUBLISHED" || change.previousStatus === "PUBLISHED") {
+        clearTimeout(recentReloadTimer);
+        recentReloadTimer = setTimeout(loadRecentPosts, 1000);
+      }
+    });
+  });
+
+  // Too far behind to catch up from events
+  events.addEventListener("reset", () => loadDashboardData());
+}
+
 function displayRecentPosts(posts) {
   const container = document.getElementById("dashboard-posts");
   container.innerHTML = "";
@@ -79,7 +120,7 @@ function displayRecentPosts(posts) {
         </div>
         
         <div class="bg-gray-50 rounded-lg p-4 mb-6">
-          <p class="text-gray-700 leading-relaxed">${truncateContent(post.content, 200)}</p>
+          <p class="text-gray-700 leading-relaxed">${truncateContent(post.excerpt ?? post.content, 200)}</p>
         </div>
         
         <div class="flex flex-col sm:flex-row gap-3">
@@ -217,4 +258,5 @@ function truncateContent(content, maxLength) {
 window.onload = function() {
   console.log("🚀 Dashboard page loaded");
   loadDashboardData();
+  subscribeToLiveUpdates();
 };
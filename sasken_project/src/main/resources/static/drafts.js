@@ -43,7 +43,6 @@ async function loadDrafts() {
 
       // Safe escaping for display
       const safeTitle = (draft.title || '').replace(/"/g, '&quot;');
-      const safeContent = (draft.content || '').replace(/"/g, '&quot;');
       const safeAuthor = (draft.author || '').replace(/"/g, '&quot;');
 
       draftCard.innerHTML = `
@@ -57,7 +56,7 @@ async function loadDrafts() {
         </div>
         
         <div class="mb-4">
-          <p class="text-gray-700">${truncateContent(draft.content, 200)}</p>
+          <p class="text-gray-700">${draft.excerpt || ''}</p>
         </div>
 
         <div class="flex gap-2">
@@ -130,6 +129,9 @@ async function publishDraft(draftId) {
     if (response.ok) {
       showNotification("✅ Published successfully!", 'success');
       loadDrafts();
+    } else if (response.status === 409) {
+      showNotification("⚠️ This draft was already moved by someone else", 'error');
+      loadDrafts();
     } else {
       showNotification("❌ Failed to publish", 'error');
     }
@@ -150,6 +152,9 @@ async function submitForReview(draftId) {
     if (response.ok) {
       showNotification("✅ Submitted for review!", 'success');
       loadDrafts();
+    } else if (response.status === 409) {
+      showNotification("⚠️ This draft was already moved by someone else", 'error');
+      loadDrafts();
     } else {
       showNotification("❌ Failed to submit", 'error');
     }
@@ -215,12 +220,6 @@ function formatDate(datetime) {
   });
 }
 
-function truncateContent(content, maxLength) {
-  if (!content) return '';
-  if (content.length <= maxLength) return content;
-  return content.substring(0, maxLength) + '...';
-}
-
 // Load drafts when page loads
 window.onload = function() {
   console.log("🚀 Drafts page loaded");
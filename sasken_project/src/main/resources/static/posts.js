@@ -93,8 +93,9 @@ function displayPosts(posts) {
         ? `<button onclick="deletePublishedPost(${post.id}, '${post.title?.replace(/'/g, "\\'") ?? ""}')" class="bg-red-600 hover:bg-red-700 text-white px-4 py-2 rounded-lg text-sm font-medium transition-colors">🗑 Delete Blog</button>`
         : `<button onclick="deletePost(${post.id}, '${post.title?.replace(/'/g, "\\'") ?? ""}')" class="bg-red-500 hover:bg-red-600 text-white px-4 py-2 rounded-lg text-sm font-medium transition-colors">🗑 Delete Blog</button>`;
 
+    // Listings carry only the excerpt; it ends with "…" when there is more to read
     const readMoreLink =
-      post.content?.length > 300
+      post.excerpt?.endsWith("…")
         ? `<p class="text-blue-600 text-sm mt-2 cursor-pointer font-medium hover:underline" onclick="showFullPostModal(${post.id})">📖 Read full post...</p>`
         : "";
 
@@ -116,10 +117,7 @@ function displayPosts(posts) {
       </div>
 
       <div class="mb-4">
-        <p class="text-gray-700 leading-relaxed">${truncateContent(
-          post.content,
-          300
-        )}</p>
+        <p class="text-gray-700 leading-relaxed">${post.excerpt ?? ""}</p>
         ${readMoreLink}
       </div>
 
@@ -172,12 +170,12 @@ async function showComments(postId) {
   try {
     const res = await fetch(`${API_BASE}/${postId}/comments`);
     if (!res.ok) throw new Error("Failed to load comments");
-    const comments = await res.json();
+    const page = await res.json();
 
-    const commentsHtml = comments
+    const commentsHtml = page.items
       .map(
         (c) =>
-          `<p class="mb-1">💬 ${c.comment} <small class="text-gray-500">(User ${c.commenterId})</small></p>`
+          `<p class="mb-1">💬 ${c.body} <small class="text-gray-500">(${c.author ?? "Anonymous"})</small></p>`
       )
       .join("");
 
@@ -219,12 +217,12 @@ async function showFeedback(postId) {
   try {
     const res = await fetch(`${API_BASE}/${postId}/feedback`);
     if (!res.ok) throw new Error("Failed to load feedback");
-    const feedbacks = await res.json();
+    const page = await res.json();
 
-    const feedbackHtml = feedbacks
+    const feedbackHtml = page.items
       .map(
         (f) =>
-          `<p class="mb-1">📝 ${f.feedback} <small class="text-gray-500">(User ${f.feedbackerId})</small></p>`
+          `<p class="mb-1">📝 ${f.body} <small class="text-gray-500">(${f.author ?? "Anonymous"})</small></p>`
       )
       .join("");
 
@@ -321,7 +319,7 @@ function applyFilters() {
     const matchesSearch =
       !searchTerm ||
       (post.title ?? "").toLowerCase().includes(searchTerm) ||
-      (post.content ?? "").toLowerCase().includes(searchTerm) ||
+      (post.excerpt ?? "").toLowerCase().includes(searchTerm) ||
       (post.author ?? "").toLowerCase().includes(searchTerm);
 
     const matchesDate =
@@ -398,10 +396,14 @@ function getStatusInfo(status) {
   }
 }
 
-function showFullPostModal(postId) {
-  const post = allPosts.find((p) => p.id === postId);
-  if (!post) {
-    console.error("Could not find post to display in modal");
+async function showFullPostModal(postId) {
+  let post;
+  try {
+    const response = await fetch(`${API_BASE}/${postId}`);
+    if (!response.ok) throw new Error(`HTTP ${response.status}`);
+    post = await response.json();
+  } catch (error) {
+    console.error("Could not load post to display in modal", error);
     return;
   }
 
@@ -471,12 +473,6 @@ function formatDate(datetime) {
   });
 }
 
-function truncateContent(content, maxLength) {
-  if (!content) return "";
-  if (content.length <= maxLength) return content;
-  return content.substring(0, maxLength) + "...";
-}
-
 window.onload = function () {
   console.log("🚀 Posts page loaded");
   attachUIEventBindings();  // ← wire inputs to filters
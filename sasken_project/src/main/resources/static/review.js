@@ -1,26 +1,26 @@
 const API_BASE = "http://localhost:8080/api/posts";
+const ANALYTICS_URL = "http://localhost:8080/api/dashboard/analytics";
 
 // NEW: Store all loaded review posts in a variable accessible to other functions
 let allReviewPosts = [];
 
 async function loadReviewPosts() {
   try {
-    // Load posts in review status using the correct endpoint
-    const reviewResponse = await fetch(`${API_BASE}/review`);
+    // Posts in review, plus the server-side counters for the statistics (no full post list)
+    const [reviewResponse, analyticsResponse] = await Promise.all([
+      fetch(`${API_BASE}/review`),
+      fetch(ANALYTICS_URL)
+    ]);
     allReviewPosts = await reviewResponse.json();
-
-    // Load all posts to calculate statistics
-    const allResponse = await fetch(`${API_BASE}`);
-    const allPosts = await allResponse.json();
+    const analytics = await analyticsResponse.json();
 
     console.log("📋 Review posts loaded:", allReviewPosts);
-    console.log("📊 All posts for stats:", allPosts);
 
     const container = document.getElementById("review-posts");
     container.innerHTML = "";
 
     // Update statistics
-    updateStatistics(allReviewPosts, allPosts);
+    updateStatistics(allReviewPosts, analytics);
 
     if (allReviewPosts.length === 0) {
       container.innerHTML = `
@@ -61,8 +61,8 @@ async function loadReviewPosts() {
           </div>
           
           <div class="bg-gray-50 rounded-lg p-4 mb-6">
-            <p class="text-gray-700 leading-relaxed">${truncateContent(post.content, 300)}</p>
-            ${post.content.length > 300 ? `<p class="text-blue-600 text-sm mt-2 cursor-pointer font-medium hover:underline" onclick="showFullContent(${post.id})">📖 Read full content...</p>` : ''}
+            <p class="text-gray-700 leading-relaxed">${post.excerpt ?? ''}</p>
+            ${post.excerpt?.endsWith('…') ? `<p class="text-blue-600 text-sm mt-2 cursor-pointer font-medium hover:underline" onclick="showFullContent(${post.id})">📖 Read full content...</p>` : ''}
           </div>
           
           <div class="flex flex-col sm:flex-row gap-3">
@@ -101,13 +101,13 @@ async function loadReviewPosts() {
 }
 
 // Update statistics on the dashboard
-function updateStatistics(reviewPosts, allPosts) {
+function updateStatistics(reviewPosts, analytics) {
   // Pending Review count
   const pendingCount = reviewPosts.length;
   document.getElementById("pending-count").textContent = pendingCount;
   
   // Total Approved (all published posts)
-  const totalApproved = allPosts.filter(post => post.status === 'PUBLISHED').length;
+  const totalApproved = analytics.totalPosts ?? 0;
   document.getElementById("approved-count").textContent = totalApproved;
   
   // Total Rejected (all rejections from localStorage)
@@ -117,10 +117,42 @@ function updateStatistics(reviewPosts, allPosts) {
   console.log(`📊 Stats - Pending: ${pendingCount}, Total Approved: ${totalApproved}, Total Rejected: ${totalRejected}`);
 }
 
+// Live updates: the queue is only reloaded when a post enters or leaves review, and the
+// approved count follows the pushed counters
+let reviewReloadTimer = null;
+
+function subscribeToLiveUpdates() {
+  if (!window.EventSource) return;
+  const events = new EventSource(`${API_BASE}/events`);
+
+  events.addEventListener("counters", (event) => {
+    const counters = JSON.parse(event.data);
+    document.getElementById("approved-count").textContent = counters.totalPosts ?? 0;
+  });
+
+  ["post-created", "post-updated", "post-status", "post-deleted"].forEach((name) => {
+    events.addEventListener(name, (event) => {
+      const change = JSON.parse(event.data);
+      if (change.status === "REVIEWED" || change.previousStatus === "REVIEWED") {
+        clearTimeout(reviewReloadTimer);
+        reviewReloadTimer = setTimeout(loadReviewPosts, 1000);
+      }
+    });
+  });
+
+  // Too far behind to catch up from events
+  events.addEventListener("reset", () => loadReviewPosts());
+}
+
 // Show full content in a modal
-function showFullContent(postId) {
-  const post = allReviewPosts.find(p => p.id === postId);
-  if (!post) {
+// (the listing only carries the excerpt, so the full post is fetched on demand)
+async function showFullContent(postId) {
+  let post;
+  try {
+    const response = await fetch(`${API_BASE}/${postId}`);
+    if (!response.ok) throw new Error(`HTTP ${response.status}`);
+    post = await response.json();
+  } catch (error) {
     alert("❌ Could not find post content");
     return;
   }
@@ -159,6 +191,9 @@ async function approvePost(postId) {
     if (response.ok) {
       showNotification('✅ Post approved and published successfully!', 'success');
       loadReviewPosts(); // Reload the page
+    } else if (response.status === 409) {
+      showNotification('⚠️ This post was already moved by someone else.', 'error');
+      loadReviewPosts();
     } else {
       console.error("❌ Approval failed:", response.status);
       showNotification('❌ Failed to approve post. Please try again.', 'error');
@@ -292,15 +327,10 @@ function formatDate(dateString) {
   });
 }
 
-function truncateContent(content, maxLength) {
-  if (!content) return '';
-  if (content.length <= maxLength) return content;
-  return content.substring(0, maxLength) + '...';
-}
-
 // Load review posts when page loads
 window.onload = function() {
   console.log("🚀 Review panel loaded");
   cleanupOldRejectionData(); // Clean up old data
   loadReviewPosts();
+  subscribeToLiveUpdates();
 };
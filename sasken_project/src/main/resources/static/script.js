@@ -43,7 +43,7 @@ async function loadPosts() {
 
     div.innerHTML = `
       <h2>${post.title} (${post.status})</h2>
-      <p>${post.content}</p>
+      <p>${post.excerpt ?? ""}</p>
       <button onclick="showHistory(${post.id})" class="bg-blue-600 text-white px-2 py-1 rounded mr-2 hover:bg-blue-700 transition">🕓 View History</button>
       <button onclick="showComments(${post.id})" class="bg-green-600 text-white px-2 py-1 rounded hover:bg-green-700 transition">💬 View Comments</button>
     `;
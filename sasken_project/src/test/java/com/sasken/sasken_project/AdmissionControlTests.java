@@ -0,0 +1,257 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.sasken.sasken_project.config.AdaptiveConcurrencyLimit;
+import com.sasken.sasken_project.config.AdmissionControl;
+import com.sasken.sasken_project.config.AdmissionControl.RequestClass;
+import com.sasken.sasken_project.config.ClientRateLimiter;
+import com.sasken.sasken_project.config.DatabaseLatency;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// A write every 10 s per client after a burst of 3, so nothing refills during a test; the
+// limits are only adjusted by hand
+@SpringBootTest(properties = {
+        "blog.admission.client-write-rate=0.1",
+        "blog.admission.client-write-burst=3",
+        "blog.admission.read-concurrency-min=2",
+        "blog.admission.read-concurrency-max=8",
+        "blog.admission.write-concurrency-min=1",
+        "blog.admission.write-concurrency-max=4",
+        "blog.admission.adjust-interval-ms=3600000" })
+@AutoConfigureMockMvc
+class AdmissionControlTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private DatabaseLatency databaseLatency;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void writesBeyondTheBurstAreRejectedPerClient() throws Exception {
+        Post post = postService.createPost(new Post("Popular", "Everyone likes this", "author"));
+        double rejectedBefore = counter("write", "rate_limited");
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(put("/api/posts/" + post.getId() + "/like").with(from("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(put("/api/posts/" + post.getId() + "/like").with(from("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+
+        // Another client and reads from the same one are not affected
+        mockMvc.perform(put("/api/posts/" + post.getId() + "/like").with(from("10.0.0.2")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts/" + post.getId()).with(from("10.0.0.1")))
+                .andExpect(status().isOk());
+
+        assertEquals(4, postService.getPostById(post.getId()).orElseThrow().getLikes());
+        assertEquals(rejectedBefore + 1, counter("write", "rate_limited"));
+    }
+
+    @Test
+    void fullConcurrencyLimitRejectsOnlyItsOwnClass() throws Exception {
+        Post post = postService.createPost(new Post("Busy", "Body", "author"));
+        AdaptiveConcurrencyLimit reads = admissionControl.limitFor(RequestClass.READ);
+        int held = 0;
+        while (reads.tryAcquire()) {
+            held++;
+        }
+        try {
+            mockMvc.perform(get("/api/posts/" + post.getId()).with(from("10.0.1.1")))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"));
+            mockMvc.perform(put("/api/posts/" + post.getId() + "/like").with(from("10.0.1.1")))
+                    .andExpect(status().isOk());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                reads.release();
+            }
+        }
+        mockMvc.perform(get("/api/posts/" + post.getId()).with(from("10.0.1.1")))
+                .andExpect(status().isOk());
+        assertEquals(0, reads.getInFlight());
+    }
+
+    @Test
+    void limitsShrinkWhenStatementsSlowDownAndRecoverAfterwards() {
+        AdaptiveConcurrencyLimit reads = admissionControl.limitFor(RequestClass.READ);
+        AdaptiveConcurrencyLimit writes = admissionControl.limitFor(RequestClass.WRITE);
+        settleAt(1000);
+        assertEquals(8, reads.getLimit());
+        assertEquals(4, writes.getLimit());
+
+        busyInterval(50_000);
+        assertEquals(6, reads.getLimit());
+        assertEquals(3, writes.getLimit());
+        for (int i = 0; i < 5; i++) {
+            busyInterval(50_000);
+        }
+        assertEquals(2, reads.getLimit());
+        assertEquals(1, writes.getLimit());
+        assertEquals(2.0, meterRegistry.get("blog.admission.limit").tag("class", "read").gauge().value());
+
+        for (int i = 0; i < 10; i++) {
+            admissionControl.adjustLimits();
+        }
+        assertEquals(8, reads.getLimit());
+        assertEquals(4, writes.getLimit());
+    }
+
+    @Test
+    void sustainedSlowdownKeepsTheLimitsDown() {
+        AdaptiveConcurrencyLimit reads = admissionControl.limitFor(RequestClass.READ);
+        settleAt(4000);
+        assertEquals(8, reads.getLimit());
+
+        // 2.5x the usual time for a minute of 1 s intervals, just over the 2.0 tolerance
+        int previous = reads.getLimit();
+        for (int i = 0; i < 60; i++) {
+            busyInterval(10_000);
+            assertTrue(reads.getLimit() <= previous, "limit grew back to " + reads.getLimit() + " after " + i + " slow intervals");
+            previous = reads.getLimit();
+        }
+        assertEquals(2, reads.getLimit());
+        assertEquals(1, admissionControl.limitFor(RequestClass.WRITE).getLimit());
+    }
+
+    @Test
+    void jitterAndIdleClassesDoNotShrinkTheLimits() {
+        AdaptiveConcurrencyLimit reads = admissionControl.limitFor(RequestClass.READ);
+        AdaptiveConcurrencyLimit writes = admissionControl.limitFor(RequestClass.WRITE);
+        settleAt(400);
+
+        // 2.5x, but only 0.6 ms more: under min-latency-increase-ms
+        for (int i = 0; i < 20; i++) {
+            busyInterval(1000);
+        }
+        assertEquals(8, reads.getLimit());
+        assertEquals(4, writes.getLimit());
+
+        // Too few statements to judge
+        databaseLatency.record(TimeUnit.MILLISECONDS.toNanos(50));
+        admissionControl.adjustLimits();
+        assertEquals(8, reads.getLimit());
+
+        // Really slow, but nobody near the limits: a cut would change nothing
+        for (int i = 0; i < 5; i++) {
+            record(50_000);
+            admissionControl.adjustLimits();
+        }
+        assertEquals(8, reads.getLimit());
+        assertEquals(4, writes.getLimit());
+    }
+
+    @Test
+    void idleClientsAreEvictedAndNewOnesShareABucketWhenFull() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 2);
+        long now = 0;
+        assertEquals(0, limiter.tryAcquire("a", now));
+        assertEquals(0, limiter.tryAcquire("a", now));
+        assertTrue(limiter.tryAcquire("a", now) > 0);
+        assertEquals(0, limiter.tryAcquire("b", now));
+        assertEquals(2, limiter.trackedClients());
+
+        // Full: c goes to the shared bucket, untracked
+        assertEquals(0, limiter.tryAcquire("c", now));
+        assertEquals(2, limiter.trackedClients());
+
+        limiter.sweep(now + 3 * second);
+        assertEquals(0, limiter.trackedClients());
+        assertEquals(0, limiter.tryAcquire("a", now + 3 * second));
+    }
+
+    // Enough intervals that the usual level is this whatever ran before, limits at max
+    private void settleAt(long micros) {
+        databaseLatency.drain();
+        for (int i = 0; i < 500; i++) {
+            record(micros);
+            admissionControl.adjustLimits();
+        }
+    }
+
+    // An interval with both classes of requests filling their limits
+    private void busyInterval(long micros) {
+        AdaptiveConcurrencyLimit reads = admissionControl.limitFor(RequestClass.READ);
+        AdaptiveConcurrencyLimit writes = admissionControl.limitFor(RequestClass.WRITE);
+        int heldReads = 0;
+        int heldWrites = 0;
+        while (reads.tryAcquire()) {
+            heldReads++;
+        }
+        while (writes.tryAcquire()) {
+            heldWrites++;
+        }
+        for (int i = 0; i < heldReads; i++) {
+            reads.release();
+        }
+        for (int i = 0; i < heldWrites; i++) {
+            writes.release();
+        }
+        record(micros);
+        admissionControl.adjustLimits();
+    }
+
+    // Enough statements (blog.admission.min-executions) for the interval to count
+    private void record(long micros) {
+        for (int i = 0; i < 20; i++) {
+            databaseLatency.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+    }
+
+    @Test
+    void fullTableSweepsInlineWithPositiveClockValues() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        long now = 5_000 * second;
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 2);
+        assertEquals(0, limiter.tryAcquire("a", now));
+        assertEquals(0, limiter.tryAcquire("b", now));
+        assertEquals(2, limiter.trackedClients());
+
+        // a and b have refilled: the new client sweeps them away and gets its own bucket
+        assertEquals(0, limiter.tryAcquire("c", now + 3 * second));
+        assertEquals(1, limiter.trackedClients());
+        assertEquals(0, limiter.tryAcquire("d", now + 3 * second));
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    private double counter(String requestClass, String outcome) {
+        return meterRegistry.get("blog.admission.requests").tag("class", requestClass).tag("outcome", outcome).counter().count();
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,166 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasken.sasken_project.dto.CursorPage;
+import com.sasken.sasken_project.dto.ExportedPost;
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.service.ArchivalJob;
+import com.sasken.sasken_project.service.BlogTransferService;
+import com.sasken.sasken_project.service.PostService;
+import com.sasken.sasken_project.service.StatusCounters;
+
+// The job is run by hand; archived-idle-days=0 makes every archived post older than the start
+// of a run a candidate
+@SpringBootTest(properties = {
+        "blog.archival.enabled=false",
+        "blog.archival.archived-idle-days=0",
+        "blog.archival.published-idle-days=30",
+        "blog.archival.batch-size=2",
+        "blog.archival.batch-pause-ms=0" })
+@AutoConfigureMockMvc
+class ArchivalTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ArchivalJob archivalJob;
+
+    @Autowired
+    private StatusCounters statusCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BlogTransferService transferService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void archivedPostsMoveToColdStorageAndStayReadable() throws Exception {
+        Post post = postService.createPost(new Post("Cold post", "Frozen body text", "archivist"));
+        postService.addComment(post.getId(), "reader", "First!");
+        postService.addComment(post.getId(), "reader", "Second");
+        postService.addFeedback(post.getId(), "editor", "Fine");
+        postService.publishPost(post.getId());
+        postService.likePost(post.getId());
+        postService.archivePost(post.getId());
+        long archivedBefore = statusCounters.get(PostStatus.ARCHIVED);
+
+        assertTrue(archivalJob.run() >= 1);
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE id = ?", Integer.class, post.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM comments WHERE post_id = ?", Integer.class, post.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archived_posts WHERE post_id = ?", Integer.class, post.getId()));
+        assertTrue(statusCounters.get(PostStatus.ARCHIVED) < archivedBefore);
+        assertTrue(postService.searchPosts("frozen", 0, 10).isEmpty());
+
+        Post cold = postService.getPostById(post.getId()).orElseThrow();
+        assertEquals("Frozen body text", cold.getContent());
+        assertEquals(PostStatus.ARCHIVED, cold.getStatus());
+        assertEquals(1, cold.getLikes());
+
+        CursorPage<Comment> first = postService.getComments(post.getId(), null, 1);
+        assertEquals("First!", first.getItems().get(0).getBody());
+        CursorPage<Comment> second = postService.getComments(post.getId(), first.getNextCursor(), 1);
+        assertEquals("Second", second.getItems().get(0).getBody());
+        assertNull(second.getNextCursor());
+        assertEquals(1, postService.getFeedback(post.getId(), null, 10).getItems().size());
+
+        mockMvc.perform(get("/api/posts/" + post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("Frozen body text"));
+        mockMvc.perform(put("/api/posts/" + post.getId() + "/like"))
+                .andExpect(status().isNotFound());
+
+        postService.deletePost(post.getId());
+        assertTrue(postService.getPostById(post.getId()).isEmpty());
+        assertNull(postService.getComments(post.getId(), null, 10));
+    }
+
+    @Test
+    void idlePublishedPostsAreArchivedFirstAndMovedOnALaterRun() {
+        Post idle = postService.createPost(new Post("Idle", "Nobody reads this", "author"));
+        Post discussed = postService.createPost(new Post("Discussed", "Old but alive", "author"));
+        for (Post post : List.of(idle, discussed)) {
+            postService.publishPost(post.getId());
+            jdbcTemplate.update("UPDATE posts SET updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(60)), post.getId());
+        }
+        postService.addComment(discussed.getId(), "reader", "Still relevant");
+
+        archivalJob.run();
+        assertEquals(PostStatus.ARCHIVED, postService.getPostById(idle.getId()).orElseThrow().getStatus());
+        assertEquals(PostStatus.PUBLISHED, postService.getPostById(discussed.getId()).orElseThrow().getStatus());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE id = ?", Integer.class, idle.getId()));
+
+        archivalJob.run();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE id = ?", Integer.class, idle.getId()));
+        assertEquals("Nobody reads this", postService.getPostById(idle.getId()).orElseThrow().getContent());
+    }
+
+    // Importing a cold post makes it hot again; the archived copy must not come back on the next
+    // export and overwrite it
+    @Test
+    void importedColdPostIsExportedOnceWithItsCurrentState() throws Exception {
+        Post post = postService.createPost(new Post("Thawing", "Original text", "archivist"));
+        postService.publishPost(post.getId());
+        postService.archivePost(post.getId());
+        archivalJob.run();
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archived_posts WHERE post_id = ?", Integer.class, post.getId()));
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        transferService.exportTo(first);
+        assertEquals(List.of("Original text"), linesOf(first, post.getId()).stream().map(ExportedPost::getContent).toList());
+        transferService.importFrom(new ByteArrayInputStream(first.toByteArray()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archived_posts WHERE post_id = ?", Integer.class, post.getId()));
+
+        postService.updatePost(post.getId(), new Post("Thawing", "Edited after import", "archivist"));
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        transferService.exportTo(second);
+        assertEquals(List.of("Edited after import"), linesOf(second, post.getId()).stream().map(ExportedPost::getContent).toList());
+        transferService.importFrom(new ByteArrayInputStream(second.toByteArray()));
+        assertEquals("Edited after import", postService.getPostById(post.getId()).orElseThrow().getContent());
+    }
+
+    private List<ExportedPost> linesOf(ByteArrayOutputStream export, Long id) throws Exception {
+        List<ExportedPost> lines = new ArrayList<>();
+        for (String json : export.toString(StandardCharsets.UTF_8).split("\n")) {
+            ExportedPost line = objectMapper.readValue(json, ExportedPost.class);
+            if (line.getId().equals(id)) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,142 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sasken.sasken_project.dto.CursorPage;
+import com.sasken.sasken_project.dto.PostCursor;
+import com.sasken.sasken_project.dto.PostSummary;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.repository.PostRepository;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest(properties = "blog.pagination.default-size=5")
+class AuthorFeedTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void authorFeedsPageThroughOneAuthorsPosts() {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            posts.add(new Post("Feed " + i, "Body " + i, i % 4 == 3 ? "feed-bob" : "feed-alice"));
+        }
+        List<Long> ids = postService.createPosts(posts).stream().map(r -> r.getId()).toList();
+        postService.publishPosts(ids.subList(0, 10));
+
+        List<PostSummary> published = walk(cursor -> postService.getAuthorPublishedSummaries("feed-alice", cursor, null));
+        assertEquals(8, published.size());
+        for (int i = 0; i < published.size(); i++) {
+            assertEquals("feed-alice", published.get(i).getAuthor());
+            assertEquals(PostStatus.PUBLISHED, published.get(i).getStatus());
+            assertTrue(i == 0 || !published.get(i).getCreatedAt().isAfter(published.get(i - 1).getCreatedAt()));
+        }
+
+        List<PostSummary> drafts = walk(cursor -> postService.getAuthorDraftSummaries("feed-alice", cursor, null));
+        assertEquals(4, drafts.size());
+        assertTrue(drafts.stream().allMatch(p -> p.getStatus() == PostStatus.DRAFT && p.getAuthor().equals("feed-alice")));
+
+        assertEquals(0, postService.getAuthorPublishedSummaries("nobody", null, null).getItems().size());
+    }
+
+    // The SQL Hibernate actually sends (caught by CaptureStatements) is EXPLAINed with the same
+    // arguments: every listing, first page (PostCursor.TOP) or a later one, must be answered from
+    // the index that matches its ordering, not a table scan or the other status index.
+    @Test
+    void listingQueriesUseTheCompositeIndexes() {
+        LocalDateTime top = PostCursor.TOP.getTimestamp();
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 21);
+
+        for (LocalDateTime at : List.of(top, now)) {
+            assertIndex("idx_posts_status_created",
+                    planOf(() -> postRepository.findSummariesByCreatedAtBefore(PostStatus.PUBLISHED, at, 100L, page),
+                            "PUBLISHED", at, at, at, 100L, 21));
+            assertIndex("idx_posts_status_updated",
+                    planOf(() -> postRepository.findSummariesByUpdatedAtBefore(PostStatus.DRAFT, at, 100L, page),
+                            "DRAFT", at, at, at, 100L, 21));
+            assertIndex("idx_posts_status_updated",
+                    planOf(() -> postRepository.findSummariesByUpdatedAtBefore(PostStatus.REVIEWED, at, 100L, page),
+                            "REVIEWED", at, at, at, 100L, 21));
+        }
+        assertIndex("idx_posts_author_status_created",
+                planOf(() -> postRepository.findAuthorSummaries("feed-alice", PostStatus.PUBLISHED, page),
+                        "feed-alice", "PUBLISHED", 21));
+        assertIndex("idx_posts_author_status_created",
+                planOf(() -> postRepository.findAuthorSummariesBefore("feed-alice", PostStatus.DRAFT, now, 100L, page),
+                        "feed-alice", "DRAFT", now, now, 100L, 21));
+    }
+
+    // H2 names the chosen index as "posts_0 /* PUBLIC.idx_...: ... */"
+    private static void assertIndex(String index, String plan) {
+        assertTrue(plan.contains("." + index + ":"), "expected " + index + " in " + plan);
+    }
+
+    private List<PostSummary> walk(java.util.function.Function<String, CursorPage<PostSummary>> next) {
+        List<PostSummary> all = new ArrayList<>();
+        CursorPage<PostSummary> page = next.apply(null);
+        all.addAll(page.getItems());
+        while (page.getNextCursor() != null) {
+            page = next.apply(page.getNextCursor());
+            all.addAll(page.getItems());
+        }
+        assertNull(page.getNextCursor());
+        return all;
+    }
+
+    private String planOf(Runnable query, Object... args) {
+        LastStatement.sql = null;
+        query.run();
+        assertNotNull(LastStatement.sql, "query was not captured");
+        return jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class, args);
+    }
+
+    // Hibernate takes a single statement inspector: this one remembers the last SQL and hands
+    // every statement on to the one the application registered (the SQL statement counter)
+    @TestConfiguration
+    static class CaptureStatements {
+
+        @Bean
+        @Order(Ordered.LOWEST_PRECEDENCE)
+        HibernatePropertiesCustomizer lastStatement() {
+            return properties -> {
+                StatementInspector delegate = (StatementInspector) properties.get(AvailableSettings.STATEMENT_INSPECTOR);
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                    LastStatement.sql = sql;
+                    return delegate != null ? delegate.inspect(sql) : sql;
+                });
+            };
+        }
+    }
+
+    static class LastStatement {
+        static volatile String sql;
+    }
+}
@@ -0,0 +1,75 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.dto.BulkItemResult.Outcome;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.repository.PostRepository;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest
+class BulkPostTests {
+
+    private static final int POSTS = 120;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    void bulkPathReportsEachItem() {
+        List<Post> posts = List.of(new Post("Good", "Body", "a"), new Post(" ", "No title", "a"), new Post("Also good", "Body", "a"));
+        List<BulkItemResult> created = postService.createPosts(new ArrayList<>(posts));
+        assertEquals(Outcome.CREATED, created.get(0).getOutcome());
+        assertEquals(Outcome.INVALID, created.get(1).getOutcome());
+        assertEquals(Outcome.CREATED, created.get(2).getOutcome());
+
+        List<Long> ids = List.of(created.get(0).getId(), -1L, created.get(2).getId());
+        List<BulkItemResult> published = postService.publishPosts(ids);
+        assertEquals(Outcome.NOT_FOUND, published.get(1).getOutcome());
+        assertEquals(PostStatus.PUBLISHED, postRepository.findStatusById(ids.get(2)).get());
+
+        List<BulkItemResult> deleted = postService.deletePosts(ids);
+        assertEquals(Outcome.DELETED, deleted.get(0).getOutcome());
+        assertEquals(Outcome.NOT_FOUND, deleted.get(1).getOutcome());
+        assertTrue(postRepository.findStatusById(ids.get(0)).isEmpty());
+    }
+
+    // Spans several JDBC batches (hibernate.jdbc.batch_size=50); the timing against one-at-a-time
+    // creation is PostServiceBenchmark.createOneAtATime/createBulk in the benchmarks module
+    @Test
+    void bulkCreateAcrossBatchesKeepsRequestOrder() {
+        List<Post> batch = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            batch.add(new Post("Bulk " + i, "Body " + i, "loader"));
+        }
+        List<BulkItemResult> results = postService.createPosts(batch);
+
+        assertEquals(POSTS, results.size());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < POSTS; i++) {
+            BulkItemResult result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals(Outcome.CREATED, result.getOutcome());
+            assertTrue(ids.add(result.getId()));
+        }
+        Post last = postService.getPostById(results.get(POSTS - 1).getId()).orElseThrow();
+        assertEquals("Bulk " + (POSTS - 1), last.getTitle());
+        assertEquals("Body " + (POSTS - 1), last.getContent());
+        assertEquals(PostStatus.DRAFT, last.getStatus());
+    }
+}
@@ -0,0 +1,85 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.LikeCounter;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Test
+    void listAnswers304UntilTheStatusChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/posts/drafts"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/posts/drafts").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        postService.createPost(new Post("Fresh draft", "Body", "author"));
+
+        String changed = mockMvc.perform(get("/api/posts/drafts").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void listValidatorCountsLikesBeforeTheyAreFlushed() throws Exception {
+        Post draft = postService.createPost(new Post("Liked draft", "Body", "author"));
+        likeCounter.flush();
+        String etag = mockMvc.perform(get("/api/posts/drafts"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        postService.likePost(draft.getId());
+        String liked = mockMvc.perform(get("/api/posts/drafts").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, liked);
+
+        // Flushing moves the like into the database without changing the listing
+        likeCounter.flush();
+        mockMvc.perform(get("/api/posts/drafts").header("If-None-Match", liked))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void singlePostValidatorTracksLikes() throws Exception {
+        Post post = postService.createPost(new Post("Likeable", "Body", "author"));
+        String etag = mockMvc.perform(get("/api/posts/" + post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/posts/" + post.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        postService.likePost(post.getId());
+        mockMvc.perform(get("/api/posts/" + post.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,108 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sasken.sasken_project.dto.PostSummary;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.repository.PostRepository;
+import com.sasken.sasken_project.service.LikeCounter;
+import com.sasken.sasken_project.service.PostService;
+
+// No scheduled flush gets in between: the tests decide when likes reach the database
+@SpringBootTest(properties = "blog.likes.flush-interval-ms=3600000")
+class LikeCounterTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentLikesAreNeitherLostNorDoubleCounted() throws Exception {
+        Post post = postService.createPost(new Post("Viral", "Everybody likes this", "author"));
+        Long id = post.getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    postService.likePost(id);
+                    if (i % 100 == 0) {
+                        likeCounter.flush();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(4001, postService.likePost(id).getLikes());
+        likeCounter.flush();
+        assertEquals(4001, postRepository.findLikesById(id));
+
+        // A full-entity update must not overwrite the flushed count
+        postService.updatePost(id, new Post("Viral (edited)", "Still liked", "author"));
+        assertEquals(4001, postRepository.findLikesById(id));
+        assertEquals(4001, postService.getPostById(id).get().getLikes());
+    }
+
+    @Test
+    void listsAndSearchIncludeLikesNotFlushedYet() {
+        Post post = postService.createPost(new Post("Unflushedxyz", "Liked before the flush", "counter"));
+        Long id = post.getId();
+        likeCounter.flush();
+        for (int i = 0; i < 3; i++) {
+            postService.likePost(id);
+        }
+        assertEquals(0, postRepository.findLikesById(id));
+
+        PostSummary draft = postService.getDraftSummaries(null, 100).getItems().stream()
+                .filter(summary -> summary.getId().equals(id)).findFirst().orElseThrow();
+        assertEquals(3, draft.getLikes());
+        PostSummary authored = postService.getAuthorDraftSummaries("counter", null, 10).getItems().get(0);
+        assertEquals(3, authored.getLikes());
+        assertEquals(3, postService.searchPosts("unflushedxyz", 0, 10).get(0).getLikes());
+
+        likeCounter.flush();
+        assertEquals(3, postRepository.findLikesById(id));
+    }
+
+    @Test
+    void idleSlotsAreDroppedAndTheNextLikeRereadsTheCount() {
+        Long id = postService.createPost(new Post("Idle", "Liked once in a while", "author")).getId();
+        assertEquals(1, postService.likePost(id).getLikes());
+        likeCounter.flush();
+        // Nothing new since the last flush: the slot goes
+        likeCounter.flush();
+
+        // Another instance (or a manual fix) changes the column meanwhile
+        jdbcTemplate.update("UPDATE posts SET likes = likes + 10 WHERE id = ?", id);
+
+        assertEquals(12, postService.likePost(id).getLikes());
+        likeCounter.flush();
+        assertEquals(12, postRepository.findLikesById(id));
+    }
+
+    @Test
+    void likingAMissingPostReturnsNothing() {
+        assertNull(postService.likePost(-42L));
+    }
+}
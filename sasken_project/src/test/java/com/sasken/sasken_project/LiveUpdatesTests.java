@@ -0,0 +1,160 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LiveUpdatesTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PostService postService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void pushesChangesAndCoalescesLikeBursts() throws Exception {
+        try (EventStream stream = open(null)) {
+            assertNotNull(stream.next("counters"));
+
+            Post post = postService.createPost(new Post("Live", "Body", "author"));
+            Event created = stream.next("post-created");
+            assertTrue(created.data.contains("\"id\":" + post.getId()));
+            assertTrue(stream.next("counters").data.contains("totalDrafts"));
+
+            for (int i = 0; i < 200; i++) {
+                postService.likePost(post.getId());
+            }
+            List<Event> likes = new ArrayList<>();
+            Event liked;
+            do {
+                liked = stream.next("post-liked");
+                likes.add(liked);
+            } while (!liked.data.contains("\"likes\":200"));
+            assertTrue(likes.size() < 200, "bursts should be coalesced, got " + likes.size() + " events");
+        }
+    }
+
+    @Test
+    void resumesFromLastEventId() throws Exception {
+        String firstId;
+        Post post;
+        try (EventStream stream = open(null)) {
+            stream.next("counters");
+            post = postService.createPost(new Post("Resume", "Body", "author"));
+            firstId = stream.next("post-created").id;
+        }
+        postService.submitForReview(post.getId());
+
+        try (EventStream resumed = open(firstId)) {
+            Event missed = resumed.next("post-status");
+            assertTrue(missed.data.contains("\"status\":\"REVIEWED\""));
+        }
+
+        try (EventStream stale = open("1")) {
+            assertNotNull(stale.next("reset"));
+        }
+    }
+
+    private EventStream open(String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts/events"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        EventStream stream = new EventStream();
+        stream.response = client.sendAsync(request.build(), HttpResponse.BodyHandlers.fromLineSubscriber(
+                new Flow.Subscriber<String>() {
+                    private String id;
+                    private String name;
+                    private final StringBuilder data = new StringBuilder();
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(String line) {
+                        if (line.isEmpty()) {
+                            if (name != null) {
+                                stream.events.add(new Event(id, name, data.toString()));
+                            }
+                            id = null;
+                            name = null;
+                            data.setLength(0);
+                        } else if (line.startsWith("id:")) {
+                            id = line.substring(3).trim();
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6).trim();
+                        } else if (line.startsWith("data:")) {
+                            data.append(line.substring(5));
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) { }
+
+                    @Override
+                    public void onComplete() { }
+                }));
+        return stream;
+    }
+
+    private static final class Event {
+        final String id;
+        final String name;
+        final String data;
+
+        Event(String id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static final class EventStream implements AutoCloseable {
+        final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        CompletableFuture<?> response;
+
+        // Next event with this name, skipping others
+        Event next(String name) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < deadline) {
+                Event event = events.poll(100, TimeUnit.MILLISECONDS);
+                if (event != null && event.name.equals(name)) {
+                    return event;
+                }
+            }
+            return fail("no '" + name + "' event within 5 seconds");
+        }
+
+        @Override
+        public void close() {
+            response.cancel(true);
+        }
+    }
+}
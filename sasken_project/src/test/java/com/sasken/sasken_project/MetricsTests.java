@@ -0,0 +1,57 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    void requestsAreTimedAndTheirStatementsCounted() throws Exception {
+        Post post = postService.createPost(new Post("Measured", "Body", "author"));
+        mockMvc.perform(get("/api/posts/" + post.getId())).andExpect(status().isOk());
+
+        DistributionSummary statements = registry.find("blog.sql.statements").tag("uri", "/api/posts/{id}").summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.max() >= 1, "the cache miss should have reached the database");
+
+        assertNotNull(registry.find("blog.service").tag("class", PostService.class.getName()).tag("method", "getPostById").timer());
+        assertNotNull(registry.find("http.server.requests").tag("uri", "/api/posts/{id}").timer());
+    }
+
+    @Test
+    void prometheusEndpointExposesPoolAndHibernateMeters() throws Exception {
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+        assertTrue(scrape.contains("hibernate_statements_total"));
+    }
+}
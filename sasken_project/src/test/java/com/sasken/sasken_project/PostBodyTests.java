@@ -0,0 +1,103 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sasken.sasken_project.entity.CompressedTextConverter;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.service.PostBodyMigrator;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest
+class PostBodyTests {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostBodyMigrator migrator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void converterOnlyDeflatesLargeText() {
+        String small = "Short body with ünïcödé";
+        assertEquals(small, CompressedTextConverter.decode(CompressedTextConverter.encode(small)));
+        assertEquals(0, CompressedTextConverter.encode(small)[0]);
+
+        String large = longText(400);
+        byte[] stored = CompressedTextConverter.encode(large);
+        assertEquals(1, stored[0]);
+        assertTrue(stored.length < large.length() / 2);
+        assertEquals(large, CompressedTextConverter.decode(stored));
+        assertNull(CompressedTextConverter.decode(CompressedTextConverter.encode(null)));
+    }
+
+    @Test
+    void listingsCarryExcerptAndSinglePostCarriesBody() {
+        String content = longText(400);
+        Post post = postService.createPost(new Post("Long read", content, "writer"));
+
+        Post loaded = postService.getPostById(post.getId()).get();
+        assertEquals(content, loaded.getContent());
+        assertEquals(400, loaded.getWordCount());
+        assertTrue(loaded.getExcerpt().endsWith("…"));
+        assertTrue(loaded.getExcerpt().length() <= Post.EXCERPT_LENGTH + 1);
+        assertFalse(loaded.toString().contains(content));
+
+        Integer stored = jdbcTemplate.queryForObject(
+                "SELECT OCTET_LENGTH(content) FROM post_bodies WHERE post_id = ?", Integer.class, post.getId());
+        assertTrue(stored < content.length() / 2, "body stored in " + stored + " bytes");
+
+        List<Post> drafts = new ArrayList<>();
+        postService.forEachPost(PostStatus.DRAFT, drafts::add);
+        Post listed = drafts.stream().filter(p -> p.getId().equals(post.getId())).findFirst().get();
+        assertNull(listed.getContent());
+        assertEquals(loaded.getExcerpt(), listed.getExcerpt());
+
+        postService.updatePost(post.getId(), new Post("Long read", "Now short", "writer"));
+        Post updated = postService.getPostById(post.getId()).get();
+        assertEquals("Now short", updated.getContent());
+        assertEquals("Now short", updated.getExcerpt());
+        assertEquals(2, updated.getWordCount());
+    }
+
+    @Test
+    void legacyContentColumnIsMovedToBodies() {
+        Post post = postService.createPost(new Post("Legacy", null, "writer"));
+        jdbcTemplate.execute("ALTER TABLE posts ADD COLUMN content TEXT");
+        try {
+            jdbcTemplate.update("UPDATE posts SET content = ? WHERE id = ?", "Text from before the split", post.getId());
+            jdbcTemplate.update("DELETE FROM post_bodies WHERE post_id = ?", post.getId());
+
+            migrator.migrate();
+
+            assertNull(jdbcTemplate.queryForObject("SELECT content FROM posts WHERE id = ?", String.class, post.getId()));
+            Post loaded = postService.getPostById(post.getId()).get();
+            assertEquals("Text from before the split", loaded.getContent());
+            assertEquals(5, loaded.getWordCount());
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE posts DROP COLUMN content");
+        }
+    }
+
+    private static String longText(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(i % 7 == 0 ? "caching" : "posts").append(i % 12 == 11 ? ". " : " ");
+        }
+        return text.toString().trim();
+    }
+}
@@ -0,0 +1,92 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostCache;
+
+class PostCacheTests {
+
+    private PostCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PostCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 3);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_000_000L);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 16; i++) {
+            pool.submit(() -> cache.get(1L, id -> {
+                loads.incrementAndGet();
+                await(release);
+                return Optional.of(post(id));
+            }));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().getLoads());
+        Post first = cache.get(1L, id -> Optional.empty()).get();
+        Post second = cache.get(1L, id -> Optional.empty()).get();
+        assertNotSame(first, second);
+        assertEquals(2, cache.stats().getHits());
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwritten() {
+        cache.get(7L, id -> {
+            cache.invalidate(id);
+            return Optional.of(post(id));
+        });
+        assertEquals(0, cache.stats().getEntries());
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvictedFirst() {
+        for (long id = 1; id <= 3; id++) {
+            cache.get(id, id2 -> Optional.of(post(id2)));
+        }
+        cache.get(1L, id -> Optional.empty());
+        cache.get(4L, id -> Optional.of(post(id)));
+
+        assertEquals(1, cache.stats().getEvictions());
+        assertTrue(cache.get(1L, id -> Optional.empty()).isPresent());
+        assertTrue(cache.get(2L, id -> Optional.empty()).isEmpty());
+    }
+
+    private static Post post(Long id) {
+        Post post = new Post("Title " + id, "Content " + id, "author");
+        post.setId(id);
+        return post;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sasken.sasken_project.dto.CursorPage;
+import com.sasken.sasken_project.dto.PostSummary;
+import com.sasken.sasken_project.entity.Comment;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.repository.CommentRepository;
+import com.sasken.sasken_project.repository.PostRepository;
+import com.sasken.sasken_project.service.LegacyNotesMigrator;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest
+class PostPaginationTests {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LegacyNotesMigrator legacyNotesMigrator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        commentRepository.deleteAll();
+        postRepository.deleteAll();
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 45; i++) {
+            Post post = new Post("Post " + i, "Body of post number " + i, "author" + (i % 3));
+            post.setStatus(i % 5 == 0 ? PostStatus.DRAFT : PostStatus.PUBLISHED);
+            posts.add(post);
+        }
+        postRepository.saveAll(posts);
+    }
+
+    @Test
+    void walksEveryPublishedPostExactlyOnce() {
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<PostSummary> page = postService.getPublishedSummaries(cursor, 10);
+            for (PostSummary summary : page.getItems()) {
+                assertTrue(seen.add(summary.getId()), "duplicate id " + summary.getId());
+                assertEquals(PostStatus.PUBLISHED, summary.getStatus());
+                assertTrue(summary.getExcerpt().startsWith("Body of post"));
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(36, seen.size());
+        assertEquals(4, pages);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<PostSummary> drafts = postService.getDraftSummaries(null, 50);
+        assertEquals(9, drafts.getItems().size());
+        assertNull(drafts.getNextCursor());
+        assertFalse(drafts.isHasMore());
+    }
+
+    @Test
+    void concurrentCommentsArePagedInInsertionOrder() throws Exception {
+        Long postId = postService.getPublishedSummaries(null, 1).getItems().get(0).getId();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 25; i++) {
+            String text = "comment " + i;
+            pool.submit(() -> postService.addComment(postId, "reader", text));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        CursorPage<Comment> first = postService.getComments(postId, null, 20);
+        CursorPage<Comment> second = postService.getComments(postId, first.getNextCursor(), 20);
+        assertEquals(20, first.getItems().size());
+        assertEquals(5, second.getItems().size());
+        assertNull(second.getNextCursor());
+        assertTrue(first.getItems().get(19).getId() < second.getItems().get(0).getId());
+
+        assertEquals(25, postService.getPublishedSummaries(null, 1).getItems().get(0).getCommentCount());
+        assertNull(postService.getComments(-1L, null, 20));
+    }
+
+    // Rows left in the collection tables of the old Post entity by a ddl-auto=update schema
+    @Test
+    void legacyCollectionRowsAreMovedToTheNewTables() {
+        Long postId = postService.getPublishedSummaries(null, 1).getItems().get(0).getId();
+        jdbcTemplate.execute("CREATE TABLE post_comments (post_id BIGINT NOT NULL, comments VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE post_feedback (post_id BIGINT NOT NULL, feedback VARCHAR(255))");
+        try {
+            jdbcTemplate.update("INSERT INTO post_comments VALUES (?, 'Old first'), (?, 'Old second'), (-1, 'Orphan')", postId, postId);
+            jdbcTemplate.update("INSERT INTO post_feedback VALUES (?, 'Old review')", postId);
+
+            legacyNotesMigrator.migrate();
+
+            List<Comment> comments = postService.getComments(postId, null, 20).getItems();
+            assertEquals(List.of("Old first", "Old second"), comments.stream().map(Comment::getBody).toList());
+            assertNull(comments.get(0).getAuthor());
+            assertEquals("Old review", postService.getFeedback(postId, null, 20).getItems().get(0).getBody());
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_comments", Integer.class));
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_feedback", Integer.class));
+            assertEquals(2, postService.getPublishedSummaries(null, 1).getItems().get(0).getCommentCount());
+        } finally {
+            jdbcTemplate.execute("DROP TABLE post_comments");
+            jdbcTemplate.execute("DROP TABLE post_feedback");
+        }
+    }
+}
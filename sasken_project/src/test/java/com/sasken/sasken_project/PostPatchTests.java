@@ -0,0 +1,151 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.sasken.sasken_project.config.SlowQueryLog;
+import com.sasken.sasken_project.dto.SlowQuery;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+// Threshold 0 so the slow-query log shows which columns the UPDATEs set
+@SpringBootTest(properties = { "blog.sql.slow-threshold-ms=0", "blog.sql.top-size=1000" })
+@AutoConfigureMockMvc
+class PostPatchTests {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Test
+    void contentDeltaRewritesOnlyTheChangedColumns() throws Exception {
+        Post post = postService.createPost(new Post("Delta title", "The quick brown fox", "editor"));
+        String etag = etagOf(post.getId());
+
+        String next = mockMvc.perform(patchOf(post.getId(), etag,
+                        "{\"contentDeltas\":[{\"start\":10,\"end\":15,\"text\":\"red\"},{\"start\":0,\"end\":0,\"text\":\"> \"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("> The quick red fox"))
+                .andExpect(jsonPath("$.title").value("Delta title"))
+                .andExpect(jsonPath("$.version").value(post.getVersion() + 1))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, next);
+        assertEquals("> The quick red fox", postService.getPostById(post.getId()).orElseThrow().getContent());
+
+        List<SlowQuery> updates = slowQueryLog.top(1000).stream()
+                .filter(q -> q.getSql().startsWith("update posts set")
+                        && q.getParameters().contains(String.valueOf(post.getId())))
+                .toList();
+        assertEquals(1, updates.size());
+        assertFalse(updates.get(0).getSql().contains("title="));
+        assertFalse(updates.get(0).getSql().contains("author="));
+        assertTrue(updates.get(0).getSql().contains("excerpt="));
+    }
+
+    @Test
+    void mergePatchChangesOnlyTheMembersSent() throws Exception {
+        Post post = postService.createPost(new Post("Old title", "Kept body", "someone"));
+
+        mockMvc.perform(patchOf(post.getId(), etagOf(post.getId()), "{\"title\":\"New title\",\"author\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("New title"))
+                .andExpect(jsonPath("$.author").doesNotExist())
+                .andExpect(jsonPath("$.content").value("Kept body"));
+    }
+
+    @Test
+    void staleVersionIsAConflictButALikeIsNot() throws Exception {
+        Post post = postService.createPost(new Post("Contested", "Body", "first"));
+        String etag = etagOf(post.getId());
+
+        postService.likePost(post.getId());
+        String next = mockMvc.perform(patchOf(post.getId(), etag, "{\"title\":\"First editor\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // The second editor still holds the ETag of the version before the first edit
+        mockMvc.perform(patchOf(post.getId(), etag, "{\"title\":\"Second editor\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patchOf(post.getId(), next, "{\"title\":\"Second editor\"}"))
+                .andExpect(status().isOk());
+    }
+
+    // Likes still waiting for the flush are in the answer and its ETag, so the next conditional
+    // GET hits
+    @Test
+    void patchAnswerMatchesTheNextGet() throws Exception {
+        Post post = postService.createPost(new Post("Liked", "Body", "author"));
+        postService.likePost(post.getId());
+
+        String etag = mockMvc.perform(patchOf(post.getId(), etagOf(post.getId()), "{\"title\":\"Liked and edited\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.likes").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals(etagOf(post.getId()), etag);
+        mockMvc.perform(get("/api/posts/" + post.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void wildcardIfMatchAcceptsTheCurrentVersion() throws Exception {
+        Post post = postService.createPost(new Post("Anything goes", "Body", "author"));
+        postService.updatePost(post.getId(), new Post("Edited elsewhere", "Body", "author"));
+
+        mockMvc.perform(patchOf(post.getId(), "*", "{\"title\":\"Overwritten\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Overwritten"));
+        mockMvc.perform(patchOf(Long.MAX_VALUE, "*", "{\"title\":\"x\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void invalidPatchesAreRejected() throws Exception {
+        Post post = postService.createPost(new Post("Strict", "Short", "author"));
+        String etag = etagOf(post.getId());
+
+        mockMvc.perform(patch("/api/posts/" + post.getId()).contentType(MERGE_PATCH).content("{\"title\":\"x\"}"))
+                .andExpect(status().isPreconditionRequired());
+        mockMvc.perform(patchOf(post.getId(), etag, "{\"contentDeltas\":[{\"start\":3,\"end\":50,\"text\":\"\"}]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patchOf(post.getId(), etag, "{\"status\":\"PUBLISHED\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patchOf(post.getId(), etag, "{\"title\":null}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patchOf(post.getId(), "W/\"posts-DRAFT-1-1-0-0\"", "{\"title\":\"x\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patchOf(Long.MAX_VALUE, "W/\"post-" + Long.MAX_VALUE + "-1-1-0-0\"", "{\"title\":\"x\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String etagOf(Long id) throws Exception {
+        return mockMvc.perform(get("/api/posts/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private MockHttpServletRequestBuilder patchOf(Long id, String etag, String body) {
+        return patch("/api/posts/" + id).contentType(MERGE_PATCH).header("If-Match", etag).content(body);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sasken.sasken_project.entity.CompressedTextConverter;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+// The prod profile on H2: the schema comes from the Flyway migrations only and Hibernate
+// validates it with the MySQL dialect the migrations are written for. Warm-up stays on the
+// main thread so the test does not race it.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "blog.startup.background-warmup=false" })
+@ActiveProfiles("prod")
+class ProductionProfileTests {
+
+    private static final String[] LOCATIONS = { "classpath:db/migration", "classpath:com/sasken/sasken_project/migration" };
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratedSchemaPassesValidation() {
+        List<String> applied = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success AND version IS NOT NULL ORDER BY installed_rank", String.class);
+        assertEquals(List.of("1", "2", "3", "4"), applied);
+
+        Post post = postService.createPost(new Post("Migrated", "Body text", "ops"));
+        assertEquals("Body text", postService.getPostById(post.getId()).get().getContent());
+    }
+
+    // A database left by ddl-auto=update: V1 tables plus the legacy content column and comment
+    // and feedback collection tables, no history
+    @Test
+    void legacyDatabaseIsBaselinedAndItsContentMoved() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy_" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).locations(LOCATIONS).target("1").load().migrate();
+        legacy.execute("DROP TABLE flyway_schema_history");
+        legacy.execute("ALTER TABLE posts ADD COLUMN content TEXT");
+        String longContent = "word ".repeat(1000).strip();
+        legacy.update("INSERT INTO posts (id, title, status, created_at, content) VALUES (1, 'Old', 'PUBLISHED', NOW(), ?)", longContent);
+        legacy.update("INSERT INTO posts (id, title, status, created_at, content) VALUES (2, 'Older', 'DRAFT', NOW(), 'Short one')");
+        legacy.execute("CREATE TABLE post_comments (post_id BIGINT NOT NULL, comments VARCHAR(255))");
+        legacy.execute("CREATE TABLE post_feedback (post_id BIGINT NOT NULL, feedback VARCHAR(255))");
+        legacy.update("INSERT INTO post_comments VALUES (1, 'Nice'), (1, 'Agreed'), (2, 'Hmm')");
+        legacy.update("INSERT INTO post_feedback VALUES (2, 'Needs work')");
+
+        Flyway.configure().dataSource(dataSource).locations(LOCATIONS)
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertEquals(longContent, CompressedTextConverter.decode(legacy.queryForObject(
+                "SELECT content FROM post_bodies WHERE post_id = 1", byte[].class)));
+        assertEquals("Short one", CompressedTextConverter.decode(legacy.queryForObject(
+                "SELECT content FROM post_bodies WHERE post_id = 2", byte[].class)));
+        assertEquals(1000, legacy.queryForObject("SELECT word_count FROM posts WHERE id = 1", Integer.class));
+        assertTrue(legacy.queryForObject("SELECT excerpt FROM posts WHERE id = 1", String.class).endsWith("…"));
+        assertFalse(legacy.queryForList("SHOW COLUMNS FROM posts").stream()
+                .anyMatch(column -> "content".equalsIgnoreCase(String.valueOf(column.get("field")))));
+
+        assertEquals(List.of("Nice", "Agreed"), legacy.queryForList(
+                "SELECT body FROM comments WHERE post_id = 1 ORDER BY id", String.class));
+        assertEquals(List.of("Hmm"), legacy.queryForList("SELECT body FROM comments WHERE post_id = 2", String.class));
+        assertEquals(List.of("Needs work"), legacy.queryForList("SELECT body FROM feedback WHERE post_id = 2", String.class));
+        assertEquals(0, legacy.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name IN ('post_comments', 'post_feedback')", Integer.class));
+    }
+}
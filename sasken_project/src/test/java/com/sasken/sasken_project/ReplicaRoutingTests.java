@@ -0,0 +1,126 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.sasken.sasken_project.config.ReadYourWritesFilter;
+import com.sasken.sasken_project.config.ReplicaRoutingConfig;
+import com.sasken.sasken_project.config.ReplicaRoutingDataSource;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.service.PostService;
+
+import jakarta.servlet.http.Cookie;
+
+// Primary and replica are two separate in-memory databases, so which one answered is visible
+// from the data: rows written through the application only exist on the primary, rows inserted
+// into the replica by the test only exist there.
+@SpringBootTest(properties = {
+        "blog.replicas.enabled=true",
+        "blog.replicas.urls=jdbc:h2:mem:sasken_replica_${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "blog.replicas.health-check-ms=3600000" })
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ReplicaRoutingConfig replicaRoutingConfig;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate replica;
+
+    // Give the replica the primary's schema (no rows) and put it in rotation
+    @BeforeEach
+    void setUpReplica() {
+        routing = replicaRoutingConfig.getRouting();
+        replica = new JdbcTemplate((DataSource) routing.getResolvedDataSources().get("replica-1"));
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : jdbcTemplate.queryForList("SCRIPT NODATA", String.class)) {
+            replica.execute(statement);
+        }
+        routing.checkReplicas();
+        assertEquals(List.of("replica-1"), routing.getHealthyReplicas());
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() {
+        Post written = postService.createPost(new Post("Written to the primary", "Body", "author"));
+        replica.update("INSERT INTO posts (id, title, author, status, likes, word_count, version, created_at, updated_at) "
+                + "VALUES (-100, 'Only on the replica', 'author', 'DRAFT', 0, 0, 0, NOW(), NOW())");
+
+        List<String> titles = draftTitles();
+        assertTrue(titles.contains("Only on the replica"));
+        assertFalse(titles.contains("Written to the primary"));
+
+        // Single-post cache misses read the primary
+        assertEquals("Body", postService.getPostById(written.getId()).get().getContent());
+    }
+
+    @Test
+    void replicaFailingItsCheckLeavesTheRotation() {
+        postService.createPost(new Post("Primary fallback", "Body", "author"));
+        replica.execute("DROP ALL OBJECTS");
+        routing.checkReplicas();
+
+        assertTrue(routing.getHealthyReplicas().isEmpty());
+        assertTrue(draftTitles().contains("Primary fallback"));
+    }
+
+    @Test
+    void clientReadsItsOwnWritesWithinTheStickyWindow() throws Exception {
+        Cookie sticky = mockMvc.perform(post("/api/posts/create")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Sticky draft\",\"content\":\"Body\",\"author\":\"author\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(sticky);
+
+        // The listing is streamed on the async executor, the pin has to follow it there
+        assertTrue(drafts(get("/api/posts/drafts").cookie(sticky)).contains("Sticky draft"));
+        assertFalse(drafts(get("/api/posts/drafts")).contains("Sticky draft"));
+    }
+
+    private String drafts(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private List<String> draftTitles() {
+        List<String> titles = new ArrayList<>();
+        postService.forEachPost(PostStatus.DRAFT, post -> titles.add(post.getTitle()));
+        return titles;
+    }
+}
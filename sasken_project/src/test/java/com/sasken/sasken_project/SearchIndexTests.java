@@ -0,0 +1,76 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.SearchIndex;
+
+class SearchIndexTests {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.index(post(1L, "Spring Boot caching", "How to cache posts with Spring."));
+        index.index(post(2L, "MySQL indexes", "Composite indexes make Spring Data queries fast."));
+        index.index(post(3L, "Gardening", "Spring is the season to plant tomatoes."));
+    }
+
+    @Test
+    void allTermsMustMatch() {
+        assertEquals(List.of(2L), index.search("spring indexes", 0, 10));
+        assertTrue(index.search("spring bananas", 0, 10).isEmpty());
+    }
+
+    @Test
+    void lastTermMatchesAsPrefix() {
+        assertEquals(List.of(3L), index.search("spring tomat", 0, 10));
+        assertEquals(List.of(1L), index.search("cach", 0, 10));
+    }
+
+    @Test
+    void prefixKeepsTheMostCommonExpansions() {
+        // 70 one-off terms that sort before "data"
+        for (int i = 0; i < 70; i++) {
+            index.index(post(100L + i, "Note " + i, String.format("da%03d", i)));
+        }
+        index.index(post(10L, "Data modelling", "data"));
+        index.index(post(11L, "More data", "data"));
+
+        List<Long> hits = index.search("da", 0, 200);
+        // "data" (posts 2, 10 and 11) and 63 of the one-off terms
+        assertTrue(hits.containsAll(List.of(2L, 10L, 11L)), hits.toString());
+        assertEquals(66, hits.size());
+    }
+
+    @Test
+    void titleMatchesRankFirstAndPagesSlice() {
+        List<Long> all = index.search("spring", 0, 10);
+        assertEquals(3, all.size());
+        assertEquals(1L, all.get(0));
+        assertEquals(all.subList(1, 3), index.search("spring", 1, 10));
+    }
+
+    @Test
+    void reindexAndRemoveReplacePostings() {
+        index.index(post(3L, "Gardening", "Plant tomatoes in May."));
+        assertEquals(List.of(1L, 2L), index.search("spring", 0, 10).stream().sorted().toList());
+
+        index.remove(1L);
+        assertTrue(index.search("caching", 0, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    private static Post post(Long id, String title, String content) {
+        Post post = new Post(title, content, "author");
+        post.setId(id);
+        return post;
+    }
+}
@@ -0,0 +1,76 @@
+package com.sasken.sasken_project;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sasken.sasken_project.config.SlowQueryLog;
+import com.sasken.sasken_project.dto.SlowQuery;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+// Threshold 0: every statement counts as slow, so each one is logged and ranked
+@SpringBootTest(properties = { "blog.sql.slow-threshold-ms=0", "blog.sql.top-size=1000" })
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Test
+    void statementsAreLoggedWithBindValuesAndTheirPostServiceMethod(CapturedOutput output) {
+        Post post = postService.createPost(new Post("Traced title", "Traced body", "tracer"));
+        postService.getPostById(post.getId());
+
+        List<SlowQuery> top = slowQueryLog.top(1000);
+        SlowQuery insert = top.stream()
+                .filter(q -> q.getSql().startsWith("insert into posts") && q.getParameters().contains("'Traced title'"))
+                .findFirst().orElseThrow();
+        assertEquals("PostService.createPost", insert.getOrigin());
+        assertTrue(top.stream().anyMatch(q -> "PostService.getPostById".equals(q.getOrigin())
+                && q.getParameters().contains(String.valueOf(post.getId()))));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> output.getOut().lines().anyMatch(line ->
+                line.contains("Slow query") && line.contains("from PostService.createPost") && line.contains("'Traced title'")));
+    }
+
+    @Test
+    void slowestQueriesAreServedSlowestFirst() throws Exception {
+        postService.createPost(new Post("Ranked", "Body", "ranker"));
+        List<SlowQuery> top = slowQueryLog.top(10);
+        assertEquals(10, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getDurationMs() >= top.get(i).getDurationMs());
+        }
+
+        mockMvc.perform(get("/api/dashboard/slow-queries").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].sql").isString())
+                .andExpect(jsonPath("$[0].durationMs").isNumber());
+        mockMvc.perform(get("/api/dashboard/slow-queries").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
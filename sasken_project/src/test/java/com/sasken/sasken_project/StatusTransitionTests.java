@@ -0,0 +1,119 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.dto.BulkItemResult.Outcome;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.repository.PostRepository;
+import com.sasken.sasken_project.service.PostCache;
+import com.sasken.sasken_project.service.PostService;
+import com.sasken.sasken_project.service.StatusCounters;
+import com.sasken.sasken_project.service.StatusTransitionException;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatusTransitionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private StatusCounters statusCounters;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void workflowIsEnforcedAndRepeatsAreHarmless() throws Exception {
+        Post post = postService.createPost(new Post("Workflow", "Body", "author"));
+        long version = post.getVersion();
+
+        mockMvc.perform(put("/api/posts/" + post.getId() + "/archive")).andExpect(status().isConflict());
+
+        Post reviewed = postService.submitForReview(post.getId());
+        assertEquals(PostStatus.REVIEWED, reviewed.getStatus());
+        assertEquals(version + 1, reviewed.getVersion());
+        assertEquals(version + 1, postRepository.findById(post.getId()).get().getVersion());
+
+        mockMvc.perform(put("/api/posts/" + post.getId() + "/publish")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/posts/" + post.getId() + "/publish")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/posts/" + post.getId() + "/review")).andExpect(status().isConflict());
+        mockMvc.perform(put("/api/posts/-1/publish")).andExpect(status().isNotFound());
+
+        assertEquals(PostStatus.ARCHIVED, postService.archivePost(post.getId()).getStatus());
+        assertThrows(StatusTransitionException.class, () -> postService.publishPost(post.getId()));
+        assertEquals(version + 3, postRepository.findById(post.getId()).get().getVersion());
+    }
+
+    @Test
+    void changeBehindTheCachedCopyIsDetectedAndRetried() {
+        Post post = postService.createPost(new Post("Raced", "Body", "author"));
+        postService.getPostById(post.getId());
+        long published = statusCounters.get(PostStatus.PUBLISHED);
+
+        // Another node moves the post to review: the cached copy still says DRAFT at the old version
+        jdbcTemplate.update("UPDATE posts SET status = 'REVIEWED', version = version + 1 WHERE id = ?", post.getId());
+
+        Post result = postService.publishPost(post.getId());
+        assertEquals(PostStatus.PUBLISHED, result.getStatus());
+        assertEquals(post.getVersion() + 2, result.getVersion());
+        assertEquals(published + 1, statusCounters.get(PostStatus.PUBLISHED));
+    }
+
+    @Test
+    void bulkReportsInvalidAndMissingItems() {
+        Post draft = postService.createPost(new Post("Draft", "Body", "author"));
+        Post published = postService.createPost(new Post("Published", "Body", "author"));
+        postService.publishPost(published.getId());
+
+        List<BulkItemResult> results = postService.archivePosts(List.of(draft.getId(), published.getId(), -1L, published.getId()));
+        assertEquals(Outcome.INVALID, results.get(0).getOutcome());
+        assertEquals(Outcome.UPDATED, results.get(1).getOutcome());
+        assertEquals(Outcome.NOT_FOUND, results.get(2).getOutcome());
+        assertEquals(Outcome.UPDATED, results.get(3).getOutcome());
+        assertEquals(PostStatus.DRAFT, postRepository.findStatusById(draft.getId()).get());
+        assertEquals(PostStatus.ARCHIVED, postRepository.findStatusById(published.getId()).get());
+    }
+
+    @Test
+    void versionBumpAlwaysChangesTheETag() throws Exception {
+        Post post = postService.createPost(new Post("Tagged", "Body", "author"));
+        String etag = mockMvc.perform(get("/api/posts/" + post.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Keep updated_at as it was, as if both writes landed in the same clock tick
+        jdbcTemplate.update("UPDATE posts SET version = version + 1 WHERE id = ?", post.getId());
+        postCache.invalidate(post.getId());
+
+        String changed = mockMvc.perform(get("/api/posts/" + post.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+}
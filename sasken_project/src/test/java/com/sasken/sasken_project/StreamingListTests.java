@@ -0,0 +1,82 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = {"server.compression.enabled=true", "server.compression.mime-types=application/json"})
+class StreamingListTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void publishedListingIsStreamedCompressedAndOrdered() throws Exception {
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            posts.add(new Post("Streamed " + i, "Body of streamed post " + i, "streamer"));
+        }
+        List<Long> ids = postService.createPosts(posts).stream().map(BulkItemResult::getId).toList();
+        postService.publishPosts(ids);
+
+        HttpResponse<InputStream> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts"))
+                        .header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").isPresent());
+        assertFalse(response.headers().firstValue("Content-Length").isPresent(), "body should be streamed");
+
+        JsonNode listing;
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            listing = objectMapper.readTree(body);
+        }
+        assertTrue(listing.size() >= 1200);
+        String previous = null;
+        for (JsonNode post : listing) {
+            assertEquals("PUBLISHED", post.get("status").asText());
+            String createdAt = post.get("createdAt").asText();
+            assertTrue(previous == null || previous.compareTo(createdAt) >= 0, "newest first");
+            previous = createdAt;
+        }
+    }
+
+    @Test
+    void emptyListingIsAnEmptyArray() throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/posts/review")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertTrue(objectMapper.readTree(response.body()).isArray());
+    }
+}
@@ -0,0 +1,185 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sasken.sasken_project.dto.ExportedPost;
+import com.sasken.sasken_project.dto.TransferProgress;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.entity.Post.PostStatus;
+import com.sasken.sasken_project.repository.CommentRepository;
+import com.sasken.sasken_project.repository.PostRepository;
+import com.sasken.sasken_project.service.BlogTransferService;
+import com.sasken.sasken_project.service.PostService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TransferTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BlogTransferService transferService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportThenImportIsIdempotent() throws Exception {
+        Post post = postService.createPost(new Post("Exported", "Body", "writer"));
+        postService.addComment(post.getId(), "reader", "Nice");
+        postService.addComment(post.getId(), "reader", "Really nice");
+        postService.addFeedback(post.getId(), "editor", "Tighten the intro");
+        postService.likePost(post.getId());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = transferService.exportTo(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(exported, lines.length);
+        assertEquals(postRepository.count(), exported);
+
+        ExportedPost line = null;
+        for (String json : lines) {
+            ExportedPost candidate = objectMapper.readValue(json, ExportedPost.class);
+            if (candidate.getId().equals(post.getId())) {
+                line = candidate;
+            }
+        }
+        assertNotNull(line);
+        assertEquals(2, line.getComments().size());
+        assertEquals(1, line.getFeedback().size());
+        assertEquals(1, line.getLikes());
+
+        TransferProgress report = transferService.importFrom(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(0, report.getInserted());
+        assertEquals(exported, report.getUpdated());
+        assertEquals(0, report.getFailed());
+        assertEquals(2, commentRepository.findByPostIdInOrderByPostIdAscIdAsc(List.of(post.getId())).size());
+        assertEquals(1, postService.getPostById(post.getId()).get().getLikes());
+    }
+
+    @Test
+    void importedIdsAreSkippedByNewPosts() throws Exception {
+        long newId = postService.createPost(new Post("Before", "Body", "writer")).getId() + 10_000;
+        String ndjson = "{\"id\":" + newId + ",\"title\":\"Imported\",\"content\":\"Searchable zebra\",\"author\":\"old-blog\","
+                + "\"status\":\"PUBLISHED\",\"likes\":7,\"comments\":[{\"author\":\"a\",\"body\":\"b\"}]}\n"
+                + "{\"id\":" + (newId + 1) + ",\"title\":\"\",\"status\":\"DRAFT\"}\n";
+
+        TransferProgress report = transferService.importFrom(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getErrors().get(0).startsWith("line 2:"));
+
+        Post imported = postService.getPostById(newId).get();
+        assertEquals(PostStatus.PUBLISHED, imported.getStatus());
+        assertEquals(7, imported.getLikes());
+        assertTrue(postService.searchPosts("zebra", 0, 10).stream().anyMatch(p -> p.getId() == newId));
+
+        Post created = postService.createPost(new Post("After", "Body", "writer"));
+        assertTrue(created.getId() > newId, "new id " + created.getId() + " collides with imported ids");
+    }
+
+    @Test
+    void gzipRoundTripOverHttp() throws Exception {
+        postService.createPost(new Post("Zipped", "Body", "writer"));
+        HttpClient client = HttpClient.newHttpClient();
+        String base = "http://localhost:" + port + "/api/transfer";
+
+        HttpResponse<byte[]> export = client.send(HttpRequest.newBuilder(URI.create(base + "/export?gzip=true")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, export.statusCode());
+        assertTrue(export.headers().firstValue("Content-Disposition").orElse("").contains(".ndjson.gz"));
+        long lines;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(export.body()))) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().count();
+        }
+        assertTrue(lines > 0);
+
+        HttpResponse<String> imported = client.send(HttpRequest.newBuilder(URI.create(base + "/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .header("Content-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(export.body())).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, imported.statusCode());
+        JsonNode report = objectMapper.readTree(imported.body());
+        assertEquals(0, report.get("failed").asLong());
+        assertTrue(report.get("updated").asLong() >= lines);
+        assertFalse(report.get("running").asBoolean());
+    }
+
+    @Test
+    void secondImportWhileOneRunsIsAConflictWithTheRunningProgress() throws Exception {
+        PipedOutputStream feed = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(feed);
+        ExecutorService runner = Executors.newSingleThreadExecutor();
+        Future<TransferProgress> first = runner.submit(() -> transferService.importFrom(body));
+        while (transferService.getImportProgress() == null || !transferService.getImportProgress().isRunning()) {
+            Thread.sleep(10);
+        }
+
+        HttpResponse<String> conflict = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transfer/import"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString("")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(409, conflict.statusCode());
+        assertTrue(objectMapper.readTree(conflict.body()).get("running").asBoolean(), conflict.body());
+
+        feed.close();
+        assertFalse(first.get(10, TimeUnit.SECONDS).isRunning());
+        runner.shutdown();
+    }
+
+    @Test
+    void plainBodyWithGzipFlagIsRejectedWithItsOwnReport() throws Exception {
+        // Leaves a finished import behind whose report must not be handed out again
+        transferService.importFrom(new ByteArrayInputStream(
+                "{\"id\":0,\"title\":\"Bad\",\"status\":\"DRAFT\"}\n".getBytes(StandardCharsets.UTF_8)));
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> rejected = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transfer/import?gzip=true"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"id\":1,\"title\":\"Plain\",\"status\":\"DRAFT\"}\n")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, rejected.statusCode());
+        JsonNode report = objectMapper.readTree(rejected.body());
+        assertEquals(0, report.get("processed").asLong());
+        assertEquals(0, report.get("failed").asLong());
+        assertTrue(report.get("errors").get(0).asText().contains("Not in GZIP format"), report.toString());
+    }
+}
@@ -0,0 +1,133 @@
+package com.sasken.sasken_project;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sasken.sasken_project.dto.TrendingPost;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.LikeCounter;
+import com.sasken.sasken_project.service.PostService;
+import com.sasken.sasken_project.service.TrendingPosts;
+
+// Own database (distinct properties) so the ranking only holds the posts created here
+@SpringBootTest(properties = { "blog.trending.max-limit=20", "blog.trending.candidates=30" })
+@AutoConfigureMockMvc
+class TrendingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TrendingPosts trendingPosts;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void likesAndCommentsRankPublishedPosts() throws Exception {
+        Long quiet = published("Quiet");
+        Long liked = published("Liked");
+        Long discussed = published("Discussed");
+        Long draft = postService.createPost(new Post("Draft", "Body", "author")).getId();
+
+        for (int i = 0; i < 5; i++) {
+            postService.likePost(liked);
+        }
+        postService.addComment(discussed, "reader", "Nice");
+        postService.likePost(draft);
+        trendingPosts.applyActivity();
+
+        List<Long> ranked = ids(trendingPosts.top(20));
+        assertTrue(ranked.indexOf(liked) < ranked.indexOf(discussed));
+        assertTrue(ranked.indexOf(discussed) < ranked.indexOf(quiet));
+        assertFalse(ranked.contains(draft));
+
+        TrendingPost top = trendingPosts.top(1).get(0);
+        assertEquals(liked, top.getId());
+        assertEquals(5, top.getLikes());
+        assertEquals(10, top.getScore(), 0.01);
+
+        mockMvc.perform(get("/api/posts/trending").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Liked"));
+
+        postService.deletePost(liked);
+        assertFalse(ids(trendingPosts.top(20)).contains(liked));
+    }
+
+    @Test
+    void rebuildRestoresTheRankingAndDecaysOldActivity() {
+        Long stale = published("Popular two days ago");
+        Long fresh = published("Popular now");
+        for (int i = 0; i < 20; i++) {
+            postService.likePost(stale);
+        }
+        postService.likePost(fresh);
+        likeCounter.flush();
+        // Eight half-lives ago: 25 points then are worth about 0.1 now
+        jdbcTemplate.update("UPDATE posts SET updated_at = DATEADD('HOUR', -48, updated_at) WHERE id = ?", stale);
+
+        trendingPosts.rebuild();
+
+        List<TrendingPost> top = trendingPosts.top(20);
+        List<Long> ranked = ids(top);
+        assertTrue(ranked.indexOf(fresh) < ranked.indexOf(stale));
+        TrendingPost decayed = top.get(ranked.indexOf(stale));
+        assertEquals(20, decayed.getLikes());
+        assertEquals(25 / 256.0, decayed.getScore(), 0.01);
+    }
+
+    @Test
+    void onlyTheCandidatesAreKeptAndAPostComingBackStartsAtTheFloor() {
+        List<Long> fillers = new ArrayList<>();
+        for (int i = 0; i < 35; i++) {
+            fillers.add(published("Filler " + i));
+        }
+        assertTrue(trendingPosts.size() <= 30);
+
+        // The oldest filler was trimmed first; five likes put it above everything else here
+        Long comeback = fillers.get(0);
+        for (int i = 0; i < 5; i++) {
+            postService.likePost(comeback);
+        }
+        trendingPosts.applyActivity();
+
+        TrendingPost top = trendingPosts.top(1).get(0);
+        assertEquals(comeback, top.getId());
+        assertEquals(5, top.getLikes());
+        assertTrue(trendingPosts.size() <= 30);
+
+        fillers.forEach(postService::deletePost);
+    }
+
+    private Long published(String title) {
+        Post post = postService.createPost(new Post(title, "Body", "author"));
+        postService.publishPost(post.getId());
+        return post.getId();
+    }
+
+    private static List<Long> ids(List<TrendingPost> posts) {
+        return posts.stream().map(TrendingPost::getId).toList();
+    }
+}
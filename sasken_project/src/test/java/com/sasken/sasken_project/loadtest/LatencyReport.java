@@ -0,0 +1,120 @@
+package com.sasken.sasken_project.loadtest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Per-endpoint latency histograms (microseconds, 3 significant digits, up to one minute) and
+// error counts. The JSON report has the usual percentiles in milliseconds plus each histogram in
+// HdrHistogram's compressed base64 form, so two runs can be compared or merged exactly.
+final class LatencyReport {
+
+    private static final long MAX_MICROS = 60_000_000L;
+
+    private final Map<String, ConcurrentHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile long startedNanos = System.nanoTime();
+
+    void record(String endpoint, long latencyNanos, boolean ok) {
+        histograms.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(MAX_MICROS, 3))
+                .recordValue(Math.min(Math.max(latencyNanos / 1_000, 1), MAX_MICROS));
+        if (!ok) {
+            errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    // Drops everything recorded so far (end of warm-up)
+    void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+        startedNanos = System.nanoTime();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long requestCount() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    Path write(Path file, Map<String, Object> run) throws IOException {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("run", run);
+        report.put("measuredSeconds", round(seconds));
+
+        Histogram total = new Histogram(MAX_MICROS, 3);
+        long totalErrors = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (String endpoint : histograms.keySet().stream().sorted().toList()) {
+            Histogram histogram = histograms.get(endpoint).copy();
+            long failed = errors.getOrDefault(endpoint, new LongAdder()).sum();
+            endpoints.put(endpoint, summary(histogram, failed, seconds, true));
+            total.add(histogram);
+            totalErrors += failed;
+        }
+        report.put("total", summary(total, totalErrors, seconds, false));
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    String describe() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-10s %9s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        histograms.keySet().stream().sorted().forEach(endpoint -> {
+            Histogram h = histograms.get(endpoint);
+            text.append(String.format("%-10s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", endpoint, h.getTotalCount(),
+                    errors.getOrDefault(endpoint, new LongAdder()).sum(), millis(h.getValueAtPercentile(50)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue())));
+        });
+        return text.toString();
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long failed, double seconds, boolean withHistogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", failed);
+        summary.put("throughputPerSecond", round(seconds > 0 ? histogram.getTotalCount() / seconds : 0));
+        summary.put("meanMs", round(histogram.getMean() / 1_000));
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(histogram.getMaxValue()));
+        if (withHistogram) {
+            ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+            int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+            byte[] bytes = new byte[length];
+            buffer.flip();
+            buffer.get(bytes);
+            summary.put("hdrHistogram", Base64.getEncoder().encodeToString(bytes));
+        }
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
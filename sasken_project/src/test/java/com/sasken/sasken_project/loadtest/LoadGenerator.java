@@ -0,0 +1,157 @@
+package com.sasken.sasken_project.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Open-model load generator: request n is due at start + n / rate no matter how long earlier
+// requests take, and its latency is measured from that due time rather than from when it was
+// actually sent. A slow server therefore shows up as queueing in the percentiles instead of as a
+// quietly lower request rate (coordinated omission).
+final class LoadGenerator {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final LoadMix mix;
+    private final LatencyReport report;
+    private final long[] publishedIds;
+    private final String[] searchTerms;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    // Drafts made by the "create" operation, consumed by "publish" (the create page, then the drafts page)
+    private final ConcurrentLinkedQueue<Long> drafts = new ConcurrentLinkedQueue<>();
+
+    LoadGenerator(String baseUrl, LoadMix mix, LatencyReport report, long[] publishedIds, String[] searchTerms, int maxInFlight) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.report = report;
+        this.publishedIds = publishedIds;
+        this.searchTerms = searchTerms;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    void run(double ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(11);
+        long period = (long) (1_000_000_000L / ratePerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        boolean warm = warmup.isZero();
+
+        for (long n = 0; ; n++) {
+            long due = start + n * period;
+            if (due >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!warm && due >= measureFrom) {
+                report.reset();
+                warm = true;
+            }
+            String operation = mix.next(random);
+            if (!inFlight.tryAcquire()) {
+                // The server is so far behind that we stop adding connections; count it as a failure
+                report.record(operation, System.nanoTime() - due, false);
+                continue;
+            }
+            send(operation, random, due);
+        }
+        // Let the requests still in flight finish so their (long) latencies are counted
+        if (inFlight.tryAcquire(maxInFlight, REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+    }
+
+    private void send(String operation, SplittableRandom random, long due) {
+        HttpRequest request;
+        String recordAs = operation;
+        switch (operation) {
+            case "list" -> request = get("/api/posts/summaries?size=20");
+            case "listAll" -> request = get("/api/posts");
+            case "get" -> request = get("/api/posts/" + publishedId(random));
+            case "search" -> request = get("/api/posts/search?keyword=" + searchTerms[random.nextInt(searchTerms.length)]);
+            case "like" -> request = put("/api/posts/" + publishedId(random) + "/like");
+            case "comments" -> request = get("/api/posts/" + publishedId(random) + "/comments?size=20");
+            case "comment" -> request = builder("/api/posts/" + publishedId(random) + "/comment?author=loadtest")
+                    .header("Content-Type", "text/plain")
+                    .POST(HttpRequest.BodyPublishers.ofString("Great read, thanks for writing this up."))
+                    .build();
+            case "dashboard" -> request = get("/api/dashboard/analytics");
+            case "drafts" -> request = get("/api/posts/drafts/summaries?size=20");
+            case "publish" -> {
+                Long draft = drafts.poll();
+                if (draft != null) {
+                    request = put("/api/posts/" + draft + "/publish");
+                } else {
+                    request = create(random);
+                    recordAs = "create";
+                }
+            }
+            case "create" -> request = create(random);
+            default -> throw new IllegalArgumentException("Unknown load-test operation '" + operation + "'");
+        }
+
+        String endpoint = recordAs;
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            try {
+                long latency = System.nanoTime() - due;
+                boolean ok = error == null && response.statusCode() < 400;
+                report.record(endpoint, latency, ok);
+                if (ok && endpoint.equals("create")) {
+                    Matcher id = ID.matcher(response.body());
+                    if (id.find()) {
+                        drafts.add(Long.parseLong(id.group(1)));
+                    }
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private long publishedId(SplittableRandom random) {
+        return publishedIds[random.nextInt(publishedIds.length)];
+    }
+
+    private HttpRequest create(SplittableRandom random) {
+        String term = searchTerms[random.nextInt(searchTerms.length)];
+        String json = "{\"title\":\"Load test " + term + "\",\"author\":\"loadtest\",\"content\":\"Notes on "
+                + term + " written during a load test.\"}";
+        return builder("/api/posts/create")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest put(String path) {
+        return builder(path).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+}
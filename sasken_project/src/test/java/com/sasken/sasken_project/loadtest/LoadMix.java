@@ -0,0 +1,72 @@
+package com.sasken.sasken_project.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Weighted request mix, parsed from "name:weight,name:weight,...". The names are the operations
+// known to LoadGenerator; they also become the endpoint keys in the report.
+final class LoadMix {
+
+    static final String DEFAULT =
+            "list:25,get:30,search:10,like:10,comments:5,comment:7,dashboard:5,drafts:3,create:3,publish:2";
+
+    private final String[] names;
+    private final int[] cumulative;
+    private final int total;
+
+    private LoadMix(Map<String, Integer> weights) {
+        names = weights.keySet().toArray(new String[0]);
+        cumulative = new int[names.length];
+        int sum = 0;
+        for (int i = 0; i < names.length; i++) {
+            sum += weights.get(names[i]);
+            cumulative[i] = sum;
+        }
+        total = sum;
+    }
+
+    static LoadMix parse(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected name:weight but got '" + part + "'");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(pair[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load mix is empty");
+        }
+        return new LoadMix(weights);
+    }
+
+    String next(SplittableRandom random) {
+        int pick = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (pick < cumulative[i]) {
+                return names[i];
+            }
+        }
+        return names[names.length - 1];
+    }
+
+    List<String> names() {
+        return new ArrayList<>(List.of(names));
+    }
+
+    Map<String, Integer> weights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        int previous = 0;
+        for (int i = 0; i < names.length; i++) {
+            weights.put(names[i], cumulative[i] - previous);
+            previous = cumulative[i];
+        }
+        return weights;
+    }
+}
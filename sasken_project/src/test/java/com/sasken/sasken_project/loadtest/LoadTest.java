@@ -0,0 +1,100 @@
+package com.sasken.sasken_project.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sasken.sasken_project.dto.BulkItemResult;
+import com.sasken.sasken_project.entity.Post;
+import com.sasken.sasken_project.service.PostService;
+
+// End-to-end load test: the whole application on a real port over the embedded database, driven
+// at a fixed arrival rate with a weighted mix of the calls the static pages make. Skipped in the
+// normal build; run it with
+//
+//   mvn test -Dtest=LoadTest -Dloadtest=true [-Dloadtest.rate=300] [-Dloadtest.duration=60]
+//       [-Dloadtest.warmup=10] [-Dloadtest.posts=5000] [-Dloadtest.mix=get:50,list:30,like:20]
+//
+// The JSON report goes to target/loadtest/report.json (override with -Dloadtest.report=...).
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final String[] TERMS = {
+        "spring", "java", "database", "cache", "index", "latency", "thread", "review", "search",
+        "stream", "batch", "transaction", "metrics", "schema", "testing", "queue", "timeout", "lock"
+    };
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PostService postService;
+
+    @Test
+    void sustainsConfiguredLoad() throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "100"));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 5));
+        int posts = Integer.getInteger("loadtest.posts", 2000);
+        LoadMix mix = LoadMix.parse(System.getProperty("loadtest.mix", LoadMix.DEFAULT));
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json"));
+
+        long[] ids = seed(posts);
+        LatencyReport report = new LatencyReport();
+        LoadGenerator generator = new LoadGenerator("http://localhost:" + port, mix, report, ids, TERMS,
+                Integer.getInteger("loadtest.max-in-flight", 2000));
+        log.info("Load test: {} req/s for {}s after {}s warm-up, mix {}", rate, duration.toSeconds(), warmup.toSeconds(), mix.weights());
+        generator.run(rate, warmup, duration);
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("ratePerSecond", rate);
+        run.put("durationSeconds", duration.toSeconds());
+        run.put("warmupSeconds", warmup.toSeconds());
+        run.put("seededPosts", posts);
+        run.put("mix", mix.weights());
+        run.put("virtualThreads", Boolean.getBoolean("spring.threads.virtual.enabled"));
+        report.write(reportFile, run);
+        log.info("Load test results (report: {}):\n{}", reportFile.toAbsolutePath(), report.describe());
+
+        assertTrue(report.requestCount() > 0, "no requests were recorded");
+    }
+
+    // Published posts for the read paths, through the bulk service path so seeding stays quick
+    private long[] seed(int count) {
+        SplittableRandom random = new SplittableRandom(3);
+        List<Long> ids = new ArrayList<>(count);
+        for (int start = 0; start < count; start += 500) {
+            List<Post> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(count, start + 500); i++) {
+                StringBuilder content = new StringBuilder();
+                for (int w = 0; w < 200; w++) {
+                    content.append(TERMS[random.nextInt(TERMS.length)]).append(w % 12 == 11 ? ". " : " ");
+                }
+                batch.add(new Post("Post " + i + " about " + TERMS[i % TERMS.length], content.toString(), "author" + (i % 20)));
+            }
+            List<Long> created = postService.createPosts(batch).stream().map(BulkItemResult::getId).toList();
+            postService.publishPosts(created);
+            ids.addAll(created);
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}